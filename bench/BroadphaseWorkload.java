@@ -0,0 +1,66 @@
+import benchmarks.Workload;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * One frame of bullets against many monkeys through a broadphase.
+ * Monkeys are spread over a world that grows with their number, keeping the density of the
+ * stock level 2 (6 monkeys on one 1024x768 screen), and walk back and forth every frame..
+ */
+public class BroadphaseWorkload implements Workload {
+    private static final long SEED = 42;
+    private static final int BULLETS = 1000;
+    private static final int MONKEYS_PER_SCREEN = 6;
+    private static final int SCREEN_WIDTH = 1024;
+    private static final int SCREEN_HEIGHT = 768;
+    private static final int[] WALK_PATTERN = {300, 300};
+
+    private final ArrayList<Monkey> monkeys = new ArrayList<>();
+    private Bullet[] bullets;
+    private Broadphase<Monkey> broadphase;
+    private double step = HorizontallyMovable.MONKEY_MOVE_SPEED;
+
+    /**
+     * @param params "none", "grid" or "sweep", then the number of monkeys
+     */
+    @Override
+    public void setUp(String... params) {
+        Sprite.setHeadless(true);
+        broadphase = Broadphase.create(params[0]);
+        int count = Integer.parseInt(params[1]);
+        double scale = Math.sqrt((double) count / MONKEYS_PER_SCREEN);
+        double worldWidth = SCREEN_WIDTH * scale;
+        double worldHeight = SCREEN_HEIGHT * scale;
+        GameSession session = new GameSession(worldWidth, worldHeight);
+        Random random = new Random(SEED);
+        for (int i = 0; i < count; i++) {
+            monkeys.add(new Monkey(random.nextDouble() * worldWidth, random.nextDouble() * worldHeight,
+                    random.nextBoolean(), WALK_PATTERN.length, WALK_PATTERN, session));
+        }
+        bullets = new Bullet[BULLETS];
+        for (int i = 0; i < BULLETS; i++) {
+            bullets[i] = new Bullet(random.nextDouble() * worldWidth, random.nextDouble() * worldHeight, session);
+        }
+    }
+
+    @Override
+    public Object run() {
+        // walk every monkey half a step, turning around every frame
+        for (Monkey monkey : monkeys) {
+            monkey.x += step;
+        }
+        step = -step;
+        broadphase.build(monkeys);
+        int hits = 0;
+        for (Bullet bullet : bullets) {
+            int candidates = broadphase.query(bullet);
+            for (int i = 0; i < candidates; i++) {
+                if (bullet.isCollide(broadphase.getCandidate(i))) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+}
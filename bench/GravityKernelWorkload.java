@@ -0,0 +1,39 @@
+import benchmarks.Workload;
+
+import java.util.Random;
+
+/**
+ * Integrates one frame of gravity over primitive arrays of falling bodies with a GravityKernel,
+ * without landing, to measure the integration pass on its own.
+ */
+public class GravityKernelWorkload implements Workload {
+    private static final long SEED = 42;
+    private static final int START_HEIGHT = 1000; // bodies start anywhere up to this height
+
+    private GravityKernel kernel;
+    private double[] y;
+    private double[] velocityY;
+
+    /**
+     * @param params "scalar" or "vector", then the number of bodies
+     */
+    @Override
+    public void setUp(String... params) {
+        kernel = GravityKernel.create(params[0]);
+        int count = Integer.parseInt(params[1]);
+        Random random = new Random(SEED);
+        y = new double[count];
+        velocityY = new double[count];
+        for (int i = 0; i < count; i++) {
+            y[i] = random.nextInt(START_HEIGHT);
+            velocityY[i] = random.nextDouble() * PhysicsAffected.BARREL_TERMINAL_VELOCITY;
+        }
+    }
+
+    @Override
+    public Object run() {
+        kernel.integrate(y, velocityY, y.length, PhysicsAffected.BARREL_GRAVITY,
+                PhysicsAffected.BARREL_TERMINAL_VELOCITY, true);
+        return y;
+    }
+}
@@ -0,0 +1,52 @@
+import benchmarks.Workload;
+
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Applies gravity to many bodies of one kind against the stock level 2 platforms.
+ * Most bodies come to rest on a platform during warmup,
+ * so this measures the steady state cost of gravity per frame.
+ */
+public class GravityWorkload implements Workload {
+    private static final int LEVEL2 = 2;
+    private static final long SEED = 42;
+    private static final int[] WALK_PATTERN = {300, 300};
+
+    private PlatformIndex platforms;
+    private PhysicsAffected[] bodies;
+
+    /**
+     * @param params "barrel", "ladder", "donkey", "monkey" or "mario", then the number of bodies
+     */
+    @Override
+    public void setUp(String... params) {
+        Properties props = SyntheticLevels.stock();
+        platforms = new HeadlessSimulation(props, LEVEL2, 0).getLevel().platformIndex;
+        Random random = new Random(SEED);
+        GameSession session = new GameSession(props);
+        int screenWidth = Integer.parseInt(props.getProperty("window.width"));
+        int screenHeight = Integer.parseInt(props.getProperty("window.height"));
+        bodies = new PhysicsAffected[Integer.parseInt(params[1])];
+        for (int i = 0; i < bodies.length; i++) {
+            double x = random.nextInt(screenWidth);
+            double y = random.nextInt(screenHeight);
+            switch (params[0]) {
+                case "barrel": bodies[i] = new Barrel(x, y); break;
+                case "ladder": bodies[i] = new Ladder(x, y); break;
+                case "donkey": bodies[i] = new Donkey(x, y); break;
+                case "monkey": bodies[i] = new Monkey(x, y, true, WALK_PATTERN.length, WALK_PATTERN, session); break;
+                case "mario": bodies[i] = new Mario(x, y, session); break;
+                default: throw new IllegalArgumentException("Unknown body: " + params[0]);
+            }
+        }
+    }
+
+    @Override
+    public Object run() {
+        for (PhysicsAffected body : bodies) {
+            body.applyGravity(platforms);
+        }
+        return null;
+    }
+}
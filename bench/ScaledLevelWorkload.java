@@ -0,0 +1,26 @@
+import benchmarks.Workload;
+
+/**
+ * Steps level 2 scaled up to many entities headlessly with no key held.
+ * The level keeps being stepped after it ends, so every frame does the same work.
+ */
+public class ScaledLevelWorkload implements Workload {
+    private static final int LEVEL2 = 2;
+
+    private GamePlayScreen gamePlayScreen;
+    private final ScriptedInput input = new ScriptedInput();
+
+    /**
+     * @param params "barrels", "monkeys" or "projectiles", then the number of them
+     */
+    @Override
+    public void setUp(String... params) {
+        gamePlayScreen = new HeadlessSimulation(
+                SyntheticLevels.scaled(params[0], Integer.parseInt(params[1])), LEVEL2, 0).getLevel();
+    }
+
+    @Override
+    public Object run() {
+        return gamePlayScreen.tick(input);
+    }
+}
@@ -0,0 +1,29 @@
+import benchmarks.Workload;
+
+/**
+ * Steps a stock level headlessly with no key held.
+ * The level keeps being stepped after it ends, so every frame does the same work.
+ */
+public class StockLevelWorkload implements Workload {
+    private GamePlayScreen gamePlayScreen;
+    private boolean isExtraOnly; // only run the level 2 part of a frame
+    private final ScriptedInput input = new ScriptedInput();
+
+    /**
+     * @param params "tick" or "updateExtra", then the level number
+     */
+    @Override
+    public void setUp(String... params) {
+        isExtraOnly = params[0].equals("updateExtra");
+        gamePlayScreen = new HeadlessSimulation(SyntheticLevels.stock(), Integer.parseInt(params[1]), 0).getLevel();
+    }
+
+    @Override
+    public Object run() {
+        if (isExtraOnly) {
+            gamePlayScreen.updateExtra(input);
+            return null;
+        }
+        return gamePlayScreen.tick(input);
+    }
+}
@@ -0,0 +1,93 @@
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Builds level properties for the benchmarks, either the stock levels from res/app.properties
+ * or level 2 scaled up to a large number of barrels, monkeys or projectiles.
+ */
+public class SyntheticLevels {
+    private static final String GAME_PROPS_FILE = "res/app.properties";
+    private static final long SEED = 42; // fixed seed so every run benchmarks the same level
+    private static final int SPAWN_HEIGHT = 40; // entities start this far above their platform
+    private static final int SCREEN_MARGIN = 20; // keep entities this far from the screen edges
+
+    /**
+     * read the stock level properties
+     * @return properties of the stock levels
+     */
+    public static Properties stock() {
+        return IOUtils.readPropertiesFile(GAME_PROPS_FILE);
+    }
+
+    /**
+     * build level 2 with the given entity scaled to the given count, spread randomly over the platforms
+     * @param entity "barrels", "monkeys" (normal monkeys) or "projectiles" (intelligent monkeys throwing bananas)
+     * @param count number of entities to place
+     * @return properties of the scaled level
+     */
+    public static Properties scaled(String entity, int count) {
+        Properties props = stock();
+        Random random = new Random(SEED);
+        String[] platforms = props.getProperty("platforms.level2").split(";");
+        Spawner spawner = new Spawner(random, platforms, Integer.parseInt(props.getProperty("window.width")));
+        switch (entity) {
+            case "barrels":
+                props.setProperty("barrel.level2.count", String.valueOf(count));
+                for (int i = 1; i <= count; i++) {
+                    props.setProperty("barrel.level2." + i, spawner.randomPosition());
+                }
+                break;
+            case "monkeys":
+                setMonkeys(props, random, spawner, "normalMonkey", count);
+                setMonkeys(props, random, spawner, "intelligentMonkey", 0);
+                break;
+            case "projectiles":
+                setMonkeys(props, random, spawner, "normalMonkey", 0);
+                setMonkeys(props, random, spawner, "intelligentMonkey", count);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown entity: " + entity);
+        }
+        return props;
+    }
+
+    private static void setMonkeys(Properties props, Random random, Spawner spawner, String prefix, int count) {
+        String baseKey = prefix + ".level2.";
+        props.setProperty(baseKey + "count", String.valueOf(count));
+        for (int i = 1; i <= count; i++) {
+            String direction = random.nextBoolean() ? "right" : "left";
+            props.setProperty(baseKey + i, spawner.randomPosition() + ";" + direction + ";300,300");
+        }
+    }
+
+    /**
+     * picks random positions above the platforms of a level
+     */
+    private static class Spawner {
+        private final Random random;
+        private final String[] platforms;
+        private final double halfPlatformWidth;
+        private final int screenWidth;
+
+        Spawner(Random random, String[] platforms, int screenWidth) {
+            this.random = random;
+            this.platforms = platforms;
+            this.halfPlatformWidth = IOUtils.readImageSize("res/platform.png")[0] / 2.0;
+            this.screenWidth = screenWidth;
+        }
+
+        /**
+         * pick a position above a random platform, in the "x,y" format of the level properties
+         */
+        String randomPosition() {
+            String[] coords = platforms[random.nextInt(platforms.length)].split(",");
+            double platformX = Double.parseDouble(coords[0]);
+            double platformY = Double.parseDouble(coords[1]);
+            double left = Math.max(SCREEN_MARGIN, platformX - halfPlatformWidth);
+            double right = Math.min(screenWidth - SCREEN_MARGIN, platformX + halfPlatformWidth);
+            int x = (int) (left + random.nextDouble() * (right - left));
+            int y = (int) platformY - SPAWN_HEIGHT;
+            return x + "," + y;
+        }
+    }
+}
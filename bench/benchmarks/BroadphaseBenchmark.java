@@ -0,0 +1,38 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the broadphases at high entity counts: one frame of moving monkeys being indexed
+ * and queried by a thousand bullets, at the monkey density of the stock level 2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BroadphaseBenchmark {
+    @Param({"none", "grid", "sweep"})
+    public String broadphase;
+
+    @Param({"1000", "10000", "100000"})
+    public String count;
+
+    private Workload frame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        frame = Workload.create("BroadphaseWorkload", broadphase, count);
+    }
+
+    /**
+     * monkeys move, are indexed, and every bullet queries its candidates
+     */
+    @Benchmark
+    public Object frame() {
+        return frame.run();
+    }
+}
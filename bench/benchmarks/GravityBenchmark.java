@@ -0,0 +1,38 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the PhysicsAffected.applyGravity implementations against the stock level 2 platforms,
+ * one frame of gravity for many bodies of one kind.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GravityBenchmark {
+    @Param({"barrel", "ladder", "donkey", "monkey", "mario"})
+    public String kind;
+
+    @Param({"1000"})
+    public String count;
+
+    private Workload gravity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gravity = Workload.create("GravityWorkload", kind, count);
+    }
+
+    /**
+     * one frame of gravity for every body
+     */
+    @Benchmark
+    public Object applyGravity() {
+        return gravity.run();
+    }
+}
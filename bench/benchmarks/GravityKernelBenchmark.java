@@ -0,0 +1,38 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the GravityKernel implementations on primitive arrays, one frame of gravity for many bodies.
+ * The vector kernel is only compiled with -P benchmarks,vector, otherwise it falls back to the scalar one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class GravityKernelBenchmark {
+    @Param({"scalar", "vector"})
+    public String kernel;
+
+    @Param({"1000", "100000"})
+    public String count;
+
+    private Workload gravity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gravity = Workload.create("GravityKernelWorkload", kernel, count);
+    }
+
+    /**
+     * one frame of gravity for every body
+     */
+    @Benchmark
+    public Object integrate() {
+        return gravity.run();
+    }
+}
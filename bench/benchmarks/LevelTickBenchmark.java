@@ -0,0 +1,45 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one frame of the stock levels from res/app.properties, stepped headlessly.
+ * Run with the gc profiler (-prof gc) to also get bytes allocated per frame (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelTickBenchmark {
+    @Param({"1", "2"})
+    public String level;
+
+    private Workload tick;
+    private Workload updateExtra;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tick = Workload.create("StockLevelWorkload", "tick", level);
+        updateExtra = Workload.create("StockLevelWorkload", "updateExtra", level);
+    }
+
+    /**
+     * a whole frame: GamePlayScreen.tick, including Mario.update and Level2.updateExtra
+     */
+    @Benchmark
+    public Object tick() {
+        return tick.run();
+    }
+
+    /**
+     * the level 2 only part of a frame, empty for level 1
+     */
+    @Benchmark
+    public Object updateExtra() {
+        return updateExtra.run();
+    }
+}
@@ -0,0 +1,39 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one frame of level 2 scaled up to many barrels, monkeys or projectiles, stepped headlessly.
+ * Run with the gc profiler (-prof gc) to also get bytes allocated per frame (gc.alloc.rate.norm).
+ * Large counts are slow with brute force collision code, pick counts with e.g. -p count=1000.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScaledLevelBenchmark {
+    @Param({"barrels", "monkeys", "projectiles"})
+    public String entity;
+
+    @Param({"1000", "10000", "100000"})
+    public String count;
+
+    private Workload tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tick = Workload.create("ScaledLevelWorkload", entity, count);
+    }
+
+    /**
+     * a whole frame of the scaled level
+     */
+    @Benchmark
+    public Object tick() {
+        return tick.run();
+    }
+}
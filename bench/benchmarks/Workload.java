@@ -0,0 +1,36 @@
+package benchmarks;
+
+/**
+ * A piece of game code measured by a benchmark.
+ * The game classes live in the default package, which JMH benchmarks cannot import,
+ * so each benchmark drives its workload through this interface instead.
+ */
+public interface Workload {
+    /**
+     * build the level or entities to measure
+     * @param params benchmark parameters, as documented by the workload
+     */
+    void setUp(String... params);
+
+    /**
+     * run the measured code once, usually one frame
+     * @return a result for the benchmark to consume, may be null
+     */
+    Object run();
+
+    /**
+     * create a workload of the game by class name and set it up
+     * @param className name of a Workload class in the default package
+     * @param params benchmark parameters passed on to setUp
+     * @return the set up workload
+     */
+    static Workload create(String className, String... params) {
+        try {
+            Workload workload = (Workload) Class.forName(className).getDeclaredConstructor().newInstance();
+            workload.setUp(params);
+            return workload;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create workload " + className, e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prepares the assets of a level before it starts, so building the level does not stall a frame.
+ * The level layout is loaded, the image files are pulled into the file cache of the operating system and
+ * the classes of the level are loaded on a background thread. bagel images and fonts can only be created
+ * on the game loop thread, which owns the GL context, so they are created a few per frame by {@link #step()}
+ * and held in the registries until the level is built. The level is built whenever it is picked, from
+ * whatever is prepared by then; the rest is loaded as usual.
+ */
+public class AssetPreloader {
+    private static final int IMAGES_PER_STEP = 2; // images created per frame on the game loop thread
+
+    // one background thread for all preloaders, it never keeps the game from exiting
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "asset-preloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // flight recorder events first committed when a level is built; registering them takes longer than a frame
+    private static final Class<?>[] EVENT_CLASSES = {
+            GameEvents.LevelLoad.class, GameEvents.ScreenTransition.class, GameEvents.ProjectileSpawn.class,
+            GameEvents.EntityDeath.class, GameEvents.SlowFrame.class};
+
+    private final Properties GAME_PROPS;
+    private final CompletableFuture<LevelData> levelData; // layout, loaded in the background
+    private final CompletableFuture<Void> imageFiles; // image files cached and classes loaded in the background
+    private final List<String> imagePaths; // images of the level, in the order they are created
+    private final List<Sprite> sprites = new ArrayList<>(); // sprites created so far, held until released
+    private boolean isFontReady = false; // true once the status font is built
+
+    /**
+     * Constructs a preloader and starts loading the level in the background
+     * @param gameProps property file with game setting
+     * @param level level number
+     */
+    public AssetPreloader(Properties gameProps, int level) {
+        this(gameProps, level, CompletableFuture.supplyAsync(() -> LevelData.load(gameProps, level), LOADER));
+    }
+
+    /**
+     * Constructs a preloader for a level whose layout is already loaded, and starts loading the rest
+     * @param gameProps property file with game setting
+     * @param level level number
+     * @param levelData layout of the level
+     */
+    public AssetPreloader(Properties gameProps, int level, LevelData levelData) {
+        this(gameProps, level, CompletableFuture.completedFuture(levelData));
+    }
+
+    private AssetPreloader(Properties gameProps, int level, CompletableFuture<LevelData> levelData) {
+        this.GAME_PROPS = gameProps;
+        this.imagePaths = getImagePaths(level);
+        this.levelData = levelData;
+        this.imageFiles = CompletableFuture.runAsync(() -> {
+            warmFileCache(imagePaths);
+            // the levels list the types they construct, so the lists are read here, off the game loop thread
+            loadClasses(EVENT_CLASSES);
+            loadClasses(GamePlayScreen.CREATED_CLASSES);
+            loadClasses(level == 2 ? Level2.CREATED_CLASSES : Level1.CREATED_CLASSES);
+            // the gravity kernel is looked up by reflection
+            GravityKernel.create(GravityKernel.SCALAR);
+        }, LOADER);
+    }
+
+    /**
+     * get the images drawn by a level
+     * @param level level number
+     * @return image paths
+     */
+    static List<String> getImagePaths(int level) {
+        List<String> paths = new ArrayList<>(List.of(
+                GamePlayScreen.BACKGROUND_IMAGE, Platform.PLATFORM_IMAGE, Ladder.LADDER_IMAGE,
+                Barrel.BARREL_IMAGE, Hammer.HAMMER_IMAGE, Donkey.DONKEY_IMAGE,
+                Mario.MARIOL_IMG, Mario.MARIOR_IMG, Mario.MARIOLH_IMG, Mario.MARIORH_IMG));
+        if (level == 2) {
+            paths.addAll(List.of(Mario.MARIOLB_IMG, Mario.MARIORB_IMG, Blaster.BLASTER_IMAGE,
+                    Bullet.BULLETL_IMG, Bullet.BULLETR_IMG, Banana.BANANA_IMG,
+                    Monkey.NMONKEYL_IMG, Monkey.NMONKEYR_IMG, Monkey.IMONKEYL_IMG, Monkey.IMONKEYR_IMG));
+        }
+        return paths;
+    }
+
+    /**
+     * read the image files once and drop their bytes, so the operating system has them in its file cache
+     * and creating their images later does not wait for the disk
+     * @param paths image paths
+     */
+    private static void warmFileCache(List<String> paths) {
+        for (String path : paths) {
+            try {
+                Files.readAllBytes(Paths.get(path));
+            } catch (IOException e) {
+                // a missing image fails later, when the game loop thread creates it
+            }
+        }
+    }
+
+    /**
+     * initialize classes so building the level does not wait for them to load
+     * @param classes classes to initialize
+     */
+    private static void loadClasses(Class<?>[] classes) {
+        for (Class<?> type : classes) {
+            try {
+                Class.forName(type.getName(), true, type.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                // cannot happen, the class is already loaded
+            }
+        }
+    }
+
+    /**
+     * create the next few images of the level and its font, call once per frame on the game loop thread
+     */
+    public void step() {
+        if (!isFontReady) {
+            isFontReady = true;
+            if (!Sprite.isHeadless()) {
+                FontRegistry.get(GAME_PROPS.getProperty("font"),
+                        Integer.parseInt(GAME_PROPS.getProperty("gamePlay.score.fontSize")));
+            }
+            return;
+        }
+        if (!imageFiles.isDone()) {
+            return;
+        }
+        for (int i = 0; i < IMAGES_PER_STEP && sprites.size() < imagePaths.size(); i++) {
+            sprites.add(SpriteRegistry.acquire(imagePaths.get(sprites.size())));
+        }
+    }
+
+    /**
+     * get the layout of the level, waiting for the background thread if it is not loaded yet
+     * @return layout of the level
+     */
+    public LevelData getLevelData() {
+        return levelData.join();
+    }
+
+    /**
+     * give back the held sprites, once the level is built and holds its own
+     */
+    public void release() {
+        for (Sprite sprite : sprites) {
+            SpriteRegistry.release(sprite);
+        }
+        sprites.clear();
+    }
+}
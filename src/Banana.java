@@ -1,13 +1,10 @@
-import bagel.Image;
-
 /**
  * Represents a Banana projectile thrown by an IntelliMonkey
  * A banana travels horizontally in the same direction as the monkey facing when being thrown
  * then deactive after travel for a max distance
  */
 public class Banana extends Projectile{
-    private final static String BANANA_IMG = "res/banana.png";
-    private final Image BANANA_IMAGE = new Image(BANANA_IMG);
+    final static String BANANA_IMG = "res/banana.png";
     private double distTravel = 0;
     private final int MAXDISTBANANA = 300;
 
@@ -15,25 +12,32 @@ public class Banana extends Projectile{
      * Constructs a Banana projectile at the specified starting position.
      * @param x Initial x-coordinate.
      * @param y Initial y-coordinate.
+     * @param session the game session, giving the screen bounds
+     */
+    public Banana(double x, double y, GameSession session) {
+        super(BANANA_IMG, x, y, session);
+    }
+
+    /**
+     * reset the banana with no distance traveled, as when constructed
+     * @param x Initial x-coordinate.
+     * @param y Initial y-coordinate.
      */
-    public Banana(double x, double y) {
-        super(BANANA_IMG, x, y);
+    @Override
+    public void reset(double x, double y) {
+        super.reset(x, y);
+        distTravel = 0;
     }
 
     /**
-     * Update banana's position (motion) after being shot by an IntelliMonkey
-     * @param iMonkey the IntelliMonkey shot the banana
+     * Update banana's position (motion) after being thrown by an IntelliMonkey, in the direction it faced
      */
-    public void update(IntelliMonkey iMonkey){
-        // set direction of banana same as the facing direction of intell monkey throw it
-        if (x == iMonkey.x && y == iMonkey.y){
-            setRight(iMonkey.isFacingRight());
-        }
+    @Override
+    public void update(){
         // move in correct direction
         x = isRight() ? x + HorizontallyMovable.BANANA_MOVE_SPEED :
                 x - HorizontallyMovable.BANANA_MOVE_SPEED;
         distTravel += HorizontallyMovable.BANANA_MOVE_SPEED;
-        BANANA_IMAGE.draw(x, y);
         // prevent out of screen
         enforceBoundaries();
         // deactive when reach MAXDISTBANANA
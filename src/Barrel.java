@@ -2,9 +2,8 @@
  * Represents a barrel in the game, affected by gravity and platform collisions.
  * The barrel can be destroyed, at which point it will no longer be drawn or interact with the environment.
  */
-public class Barrel extends GameEntity implements PhysicsAffected{
-    private final static String BARREL_IMAGE = "res/barrel.png";
-    private double velocityY = 0;
+public class Barrel extends FallingEntity{
+    final static String BARREL_IMAGE = "res/barrel.png";
     private boolean isDestroyed = false;
 
     /**
@@ -18,31 +17,42 @@ public class Barrel extends GameEntity implements PhysicsAffected{
     }
 
     /**
-     * Updates the barrel's position, applies gravity, checks for platform collisions,
-     * and renders the barrel if it is not destroyed.
+     * put the barrel back where it started, awake, still and not destroyed
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        isDestroyed = false;
+    }
+
+    /**
+     * Updates the barrel's position, applies gravity and checks for platform collisions
+     * if it is not destroyed or asleep on a platform.
      *
-     * @param platforms An array of platforms for collision detection.
+     * @param platforms The index of platforms for collision detection.
      */
-    public void update(Platform[] platforms) {
-        if (!isDestroyed) {
+    public void update(PlatformIndex platforms) {
+        if (isFalling()) {
             // 1) Apply gravity
             velocityY += BARREL_GRAVITY;
             if (velocityY > BARREL_TERMINAL_VELOCITY) {
                 velocityY = BARREL_TERMINAL_VELOCITY;
             }
+            double fromY = y;
             y += velocityY;
 
             // 2) Check for platform collisions
-            for (Platform platform : platforms) {
-                if (this.getBoundingBox().intersects(platform.getBoundingBox())) {
-                    // Position the barrel on top of the platform
-                    y = platform.getY() - (platform.getHeight() / 2) - (height / 2);
-                    velocityY = 0; // Stop falling
-                    break;
-                }
-            }
-            // 3) Draw the barrel
-            draw();
+            land(platforms, fromY);
+        }
+    }
+
+    /**
+     * Draws the barrel if it is not destroyed.
+     */
+    @Override
+    public void draw() {
+        if (!isDestroyed) {
+            super.draw();
         }
     }
 
@@ -50,6 +60,9 @@ public class Barrel extends GameEntity implements PhysicsAffected{
      * Marks the barrel as destroyed, preventing it from being drawn or updated.
      */
     public void destroy() {
+        if (!isDestroyed) {
+            GameEvents.entityDeath(this);
+        }
         isDestroyed = true;
     }
 
@@ -64,25 +77,46 @@ public class Barrel extends GameEntity implements PhysicsAffected{
 
     /**
      * Apply gravity on the barrel and let it land on platform by detecting collision
-     * @param platforms An array of platforms for collision detection.
+     * @param platforms The index of platforms for collision detection.
      */
     @Override
-    public void applyGravity(Platform[] platforms) {
+    public void applyGravity(PlatformIndex platforms) {
+        if (isSleeping()) {
+            return; // resting on a platform
+        }
         // Apply gravity
         velocityY += DONKEY_GRAVITY;
+        double fromY = y;
         y += velocityY;
         if (velocityY > DONKEY_TERMINAL_VELOCITY) {
             velocityY = DONKEY_TERMINAL_VELOCITY;
         }
         // Check for platform collisions
-        for (Platform platform : platforms) {
-            if (this.isCollide(platform)) {
-                // Position Donkey on top of the platform
-                y = platform.getY() - (platform.getHeight() / 2) - (height / 2);
-                velocityY = 0; // Stop downward movement
-                break;
-            }
+        land(platforms, fromY);
+    }
+
+    /**
+     * land the barrel on the first platform it collides with after it moved, or crossed while moving
+     * @param platforms The index of platforms for collision detection.
+     * @param fromY y-coordinate before it moved
+     */
+    @Override
+    public void land(PlatformIndex platforms, double fromY) {
+        Platform platform = platforms.findFirstCollision(this, fromY);
+        if (platform != null) {
+            // Position the barrel on top of the platform
+            y = platform.getY() - (platform.getHeight() / 2) - (height / 2);
+            velocityY = 0; // Stop falling
         }
+        rest(platform != null);
     }
 
+    /**
+     * check if the barrel falls this frame, it does not once destroyed or asleep on a platform
+     * @return true if it falls; false otherwise
+     */
+    @Override
+    public boolean isFalling() {
+        return !isDestroyed && super.isFalling();
+    }
 }
@@ -0,0 +1,56 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shared candidate bookkeeping of the broadphase implementations.
+ * Candidates are kept as indices into the indexed list, in a buffer reused by every query.
+ * @param <T> type of the indexed game entities
+ */
+public abstract class BaseBroadphase<T extends GameEntity> implements Broadphase<T> {
+    /** entities indexed by the last build */
+    protected List<T> entities;
+    private int[] candidates = new int[16]; // indices of the candidates of the last query
+    private int candidateCount = 0;
+
+    @Override
+    public T getCandidate(int i) {
+        return entities.get(candidates[i]);
+    }
+
+    /**
+     * start a new query with no candidates
+     */
+    protected void clearCandidates() {
+        candidateCount = 0;
+    }
+
+    /**
+     * add an entity to the candidates if its bounding box touches or overlaps the given box;
+     * touching boxes are kept so the exact test of the caller makes the final decision
+     * @param index index of the entity in the indexed list
+     * @return true if the entity was added
+     */
+    protected boolean addIfOverlap(int index, double minX, double minY, double maxX, double maxY) {
+        T entity = entities.get(index);
+        if (entity.getLeft() > maxX || entity.getRight() < minX || entity.getTop() > maxY || entity.getBottom() < minY) {
+            return false;
+        }
+        if (candidateCount == candidates.length) {
+            candidates = Arrays.copyOf(candidates, candidates.length * 2);
+        }
+        candidates[candidateCount++] = index;
+        return true;
+    }
+
+    /**
+     * finish a query, sorting the candidates into the order of the indexed list
+     * @param isSorted true if the candidates were already added in order
+     * @return number of candidates
+     */
+    protected int finishQuery(boolean isSorted) {
+        if (!isSorted) {
+            Arrays.sort(candidates, 0, candidateCount);
+        }
+        return candidateCount;
+    }
+}
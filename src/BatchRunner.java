@@ -0,0 +1,195 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Runs many independent headless game sessions concurrently on a ForkJoinPool, for balance testing
+ * and AI runs. Every session has its own levels and GameSession, only the shared sprite sizes are
+ * common, so sessions do not contend once their level is built.
+ */
+public class BatchRunner {
+    private final Properties gameProps;
+    private final int currLevel; // level every session plays
+    private final int maxTicks; // a session still playing after this many ticks is stopped
+
+    /**
+     * result of one finished session
+     */
+    public static class SessionResult {
+        private final long seed;
+        private final boolean isEnded;
+        private final boolean isWon;
+        private final int score;
+        private final int secondsLeft;
+        private final int ticks;
+
+        SessionResult(long seed, boolean isEnded, boolean isWon, int score, int secondsLeft, int ticks) {
+            this.seed = seed;
+            this.isEnded = isEnded;
+            this.isWon = isWon;
+            this.score = score;
+            this.secondsLeft = secondsLeft;
+            this.ticks = ticks;
+        }
+
+        /**
+         * get the outcome of the session
+         * @return "won", "lost" or "unfinished" if stopped at the tick limit
+         */
+        public String getOutcome() {
+            return !isEnded ? "unfinished" : isWon ? "won" : "lost";
+        }
+
+        /**
+         * seed of the random input of the session
+         * @return seed of the session
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * check if the session was won
+         * @return true: won; false: lost or unfinished
+         */
+        public boolean isWon() {
+            return isWon;
+        }
+
+        /**
+         * get final score of the session
+         * @return final score
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * get time left when the session ended
+         * @return seconds left
+         */
+        public int getSecondsLeft() {
+            return secondsLeft;
+        }
+
+        /**
+         * get number of ticks played
+         * @return ticks played
+         */
+        public int getTicks() {
+            return ticks;
+        }
+    }
+
+    /**
+     * @param gameProps property file with game setting
+     * @param currLevel level every session plays, 1 or 2
+     * @param maxTicks most ticks a session runs
+     */
+    public BatchRunner(Properties gameProps, int currLevel, int maxTicks) {
+        this.gameProps = gameProps;
+        this.currLevel = currLevel;
+        this.maxTicks = maxTicks;
+    }
+
+    /**
+     * play one session with random input until it ends or reaches the tick limit
+     * @param seed seed of the random input, the same seed always plays the same session
+     * @return result of the session
+     */
+    public SessionResult runSession(long seed) {
+        HeadlessSimulation simulation = new HeadlessSimulation(gameProps, currLevel, 0);
+        Random random = new Random(seed);
+        ScriptedInput input = new ScriptedInput();
+        while (!simulation.isEnded() && simulation.getFrameCount() < maxTicks) {
+            simulation.step(input);
+            input.endFrame();
+            HeadlessSimulation.randomInput(random, input);
+        }
+        GamePlayScreen level = simulation.getLevel();
+        SessionResult result = new SessionResult(seed, simulation.isEnded(), level.isLevelCompleted(),
+                level.getStartedScore(), level.getSecondsLeft(), simulation.getFrameCount());
+        level.release();
+        return result;
+    }
+
+    /**
+     * play sessions with consecutive seeds on a pool of worker threads
+     * @param sessions number of sessions
+     * @param firstSeed seed of the first session
+     * @param threads number of worker threads
+     * @return results in seed order
+     */
+    public List<SessionResult> run(int sessions, long firstSeed, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.submit(() -> LongStream.range(firstSeed, firstSeed + sessions).parallel()
+                    .mapToObj(this::runSession)
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("Batch run failed", e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * write one line per session as CSV
+     * @param results results of the sessions
+     * @param path path of the report file
+     */
+    public static void writeReport(List<SessionResult> results, String path) {
+        try (PrintWriter out = new PrintWriter(path)) {
+            out.println("seed,outcome,score,secondsLeft,ticks");
+            for (SessionResult result : results) {
+                out.println(result.getSeed() + "," + result.getOutcome() + "," + result.getScore() + ","
+                        + result.getSecondsLeft() + "," + result.getTicks());
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Plays a batch of sessions and prints a summary of the results.
+     * Usage: BatchRunner [level] [sessions] [threads] [maxTicks] [report.csv]
+     * @param args level (default 1), sessions (default 1000), worker threads (default all cores),
+     *             tick limit per session (default gamePlay.maxFrames), CSV report path (default none)
+     */
+    public static void main(String[] args) {
+        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        int currLevel = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int maxTicks = args.length > 3 ? Integer.parseInt(args[3]) :
+                Integer.parseInt(gameProps.getProperty("gamePlay.maxFrames"));
+
+        long start = System.nanoTime();
+        List<SessionResult> results = new BatchRunner(gameProps, currLevel, maxTicks).run(sessions, 0, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long ticks = 0;
+        int wins = 0;
+        long scores = 0;
+        long secondsLeft = 0;
+        for (SessionResult result : results) {
+            ticks += result.getTicks();
+            wins += result.isWon() ? 1 : 0;
+            scores += result.getScore();
+            secondsLeft += result.getSecondsLeft();
+        }
+        System.out.printf("level %d: %d sessions on %d threads in %.3f s (%.0f ticks/s)%n",
+                currLevel, sessions, threads, seconds, ticks / seconds);
+        System.out.printf("%d won, %d lost or unfinished; mean score %.1f, mean time left %.1f s%n",
+                wins, sessions - wins, (double) scores / sessions, (double) secondsLeft / sessions);
+        if (args.length > 4) {
+            writeReport(results, args[4]);
+        }
+    }
+}
@@ -2,7 +2,7 @@
  * Represents a Blaster weapon can be collected up and used by Mario.
  */
 public class Blaster extends Weapon {
-    private final static String BLASTER_IMAGE = "res/blaster.png";
+    final static String BLASTER_IMAGE = "res/blaster.png";
 
     /**
      * Constructs a Blaster weapon at the specified starting position.
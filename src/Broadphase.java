@@ -0,0 +1,81 @@
+import java.util.List;
+
+/**
+ * an interface for finding which entities of a collection may collide with a bounding box
+ * without testing every entity, the caller still confirms each candidate with isCollide.
+ * Candidates are returned in the order of the collection so game logic runs in the same order
+ * as a plain loop over it.
+ * @param <T> type of the indexed game entities
+ */
+public interface Broadphase<T extends GameEntity> {
+    /** no broadphase, every entity is tested */
+    String NONE = "none";
+    /** uniform grid of cells */
+    String GRID = "grid";
+    /** entities sorted along the x axis */
+    String SWEEP = "sweep";
+
+    /**
+     * index the current bounding boxes of the entities, called again whenever they move
+     * @param entities entities to index, kept by reference
+     */
+    void build(List<T> entities);
+
+    /**
+     * find entities whose bounding box may overlap the given box
+     * @param minX left edge of the box
+     * @param minY top edge of the box
+     * @param maxX right edge of the box
+     * @param maxY bottom edge of the box
+     * @return number of candidates, get them with getCandidate
+     */
+    int query(double minX, double minY, double maxX, double maxY);
+
+    /**
+     * get a candidate of the last query
+     * @param i index of the candidate, from 0 to the number of candidates
+     * @return the candidate entity
+     */
+    T getCandidate(int i);
+
+    /**
+     * find entities whose bounding box may overlap the bounding box of the given entity
+     * @param entity entity to check against the indexed entities
+     * @return number of candidates, get them with getCandidate
+     */
+    default int query(GameEntity entity) {
+        return query(entity.getLeft(), entity.getTop(), entity.getRight(), entity.getBottom());
+    }
+
+    /**
+     * find entities whose bounding box may overlap the box swept by the given entity in the current tick,
+     * from its position at the start of the tick to the current one, for swept collision tests
+     * @param entity entity to check against the indexed entities
+     * @return number of candidates, get them with getCandidate
+     */
+    default int querySwept(GameEntity entity) {
+        double moveX = entity.x - entity.getPrevX();
+        double moveY = entity.y - entity.getPrevY();
+        return query(entity.getLeft() - Math.max(0, moveX), entity.getTop() - Math.max(0, moveY),
+                entity.getRight() - Math.min(0, moveX), entity.getBottom() - Math.min(0, moveY));
+    }
+
+    /**
+     * create a broadphase by its name in the properties file
+     * @param type "none", "grid" or "sweep"
+     * @param <T> type of the indexed game entities
+     * @return a new broadphase of the given type
+     */
+    static <T extends GameEntity> Broadphase<T> create(String type) {
+        switch (type) {
+            case NONE:
+                return new BruteForceBroadphase<>();
+            case GRID:
+                return new UniformGridBroadphase<>();
+            case SWEEP:
+                return new SweepAndPruneBroadphase<>();
+            default:
+                throw new IllegalArgumentException("Unknown broadphase: " + type);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+import java.util.List;
+
+/**
+ * A broadphase that tests every entity, the same as a plain loop over them.
+ * @param <T> type of the indexed game entities
+ */
+public class BruteForceBroadphase<T extends GameEntity> extends BaseBroadphase<T> {
+    @Override
+    public void build(List<T> entities) {
+        this.entities = entities;
+    }
+
+    @Override
+    public int query(double minX, double minY, double maxX, double maxY) {
+        clearCandidates();
+        for (int i = 0; i < entities.size(); i++) {
+            addIfOverlap(i, minX, minY, maxX, maxY);
+        }
+        return finishQuery(true);
+    }
+}
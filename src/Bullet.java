@@ -1,5 +1,3 @@
-import bagel.Image;
-
 /**
  * Represents a Bullet projectile shot by Mario holding blaster
  * A bullet travels horizontally in the same direction as Mario facing when being shot
@@ -7,14 +5,14 @@ import bagel.Image;
  */
 public class Bullet extends Projectile{
     // image path of bullet in right and left
-    private final static String BULLETR_IMG = "res/bullet_right.png";
-    private final static String BULLETL_IMG = "res/bullet_left.png";
+    final static String BULLETR_IMG = "res/bullet_right.png";
+    final static String BULLETL_IMG = "res/bullet_left.png";
 
-    private final Image BULLET_RIGHT_IMAGE = new Image(BULLETR_IMG);
-    private final Image BULLET_LEFT_IMAGE = new Image(BULLETL_IMG);
+    private final Sprite BULLET_RIGHT_IMAGE = SpriteRegistry.acquire(BULLETR_IMG);
+    private final Sprite BULLET_LEFT_IMAGE = SpriteRegistry.acquire(BULLETL_IMG);
 
     private final int MAXDISTBULLET = 300;
-    private Image bulletImage;
+    private Sprite bulletImage;
 
     private double distTravel = 0;
 
@@ -22,30 +20,60 @@ public class Bullet extends Projectile{
      * Constructs a Bullet projectile at the specified starting position.
      * @param x Initial x-coordinate.
      * @param y Initial y-coordinate.
+     * @param session the game session, giving the screen bounds
      */
-    public Bullet(double x, double y) {
-        super(BULLETR_IMG, x, y);
+    public Bullet(double x, double y, GameSession session) {
+        super(BULLETR_IMG, x, y, session);
+        bulletImage = BULLET_RIGHT_IMAGE;
     }
 
     /**
-     * Update bullet's position (motion) and image (depend on direction) after being shot by an IntelliMonkey
-     * @param mario Mario shot the bullet with blaster
+     * reset the bullet to face right with no distance traveled, as when constructed
+     * @param x Initial x-coordinate.
+     * @param y Initial y-coordinate.
      */
-    public void update(Mario mario){
-        // set direction of bullet same as the facing direction of monkey shot it
-        if (x == mario.x && y == mario.y){
-            setRight(mario.isFacingRight());
-        }
+    @Override
+    public void reset(double x, double y) {
+        super.reset(x, y);
+        bulletImage = BULLET_RIGHT_IMAGE;
+        distTravel = 0;
+    }
+
+    /**
+     * Update bullet's position (motion) and image (depend on direction) after being shot by Mario,
+     * in the direction he faced
+     */
+    @Override
+    public void update(){
         // use bullet image for correct direction
         bulletImage = isRight() ? BULLET_RIGHT_IMAGE : BULLET_LEFT_IMAGE;
         // move in correct direction
         x = isRight() ? x + HorizontallyMovable.BULLET_MOVE_SPEED :
                 x - HorizontallyMovable.BULLET_MOVE_SPEED;
         distTravel += HorizontallyMovable.BULLET_MOVE_SPEED;
-        bulletImage.draw(x, y);
         // prevent out of screen
         enforceBoundaries();
         // deactive when reach MAXDISTBULLET
         distCheck(distTravel, MAXDISTBULLET);
     }
+
+    /**
+     * draw bullet with the image of its direction of travel when active
+     */
+    @Override
+    public void draw() {
+        if (isActive()) {
+            bulletImage.draw(x, y);
+        }
+    }
+
+    /**
+     * release all sprites of bullet to the sprite registry
+     */
+    @Override
+    public void release() {
+        SpriteRegistry.release(BULLET_RIGHT_IMAGE);
+        SpriteRegistry.release(BULLET_LEFT_IMAGE);
+        super.release();
+    }
 }
@@ -0,0 +1,91 @@
+/**
+ * The part of the world shown in the window. The camera keeps Mario in the middle of the view
+ * without showing anything outside the world, so a world no larger than the window never scrolls.
+ */
+public class Camera {
+    private final double viewWidth;
+    private final double viewHeight;
+    private final double worldWidth;
+    private final double worldHeight;
+    private double x = 0; // left edge of the view in the world
+    private double y = 0; // top edge of the view in the world
+    private double prevX = 0; // left edge at the start of the current tick, for render interpolation
+    private double prevY = 0;
+
+    /**
+     * @param session the game session, giving the screen and world sizes
+     */
+    public Camera(GameSession session) {
+        this.viewWidth = session.getScreenWidth();
+        this.viewHeight = session.getScreenHeight();
+        this.worldWidth = session.getWorldWidth();
+        this.worldHeight = session.getWorldHeight();
+    }
+
+    /**
+     * center the view on an entity, as far as the world edges allow
+     * @param entity entity to follow
+     */
+    public void follow(GameEntity entity) {
+        x = Math.max(0, Math.min(worldWidth - viewWidth, entity.x - viewWidth / 2));
+        y = Math.max(0, Math.min(worldHeight - viewHeight, entity.y - viewHeight / 2));
+    }
+
+    /**
+     * remember the current view as the one of the previous tick
+     */
+    public void savePosition() {
+        prevX = x;
+        prevY = y;
+    }
+
+    /**
+     * get left edge of the view
+     * @return x-coordinate of the left edge in the world
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * get top edge of the view
+     * @return y-coordinate of the top edge in the world
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * get left edge of the view between the previous tick and the current one
+     * @param alpha interpolation factor from 0 (previous tick) to 1 (current tick)
+     * @return x-coordinate of the left edge in the world
+     */
+    public double getX(double alpha) {
+        return alpha >= 1 ? x : prevX + (x - prevX) * alpha;
+    }
+
+    /**
+     * get top edge of the view between the previous tick and the current one
+     * @param alpha interpolation factor from 0 (previous tick) to 1 (current tick)
+     * @return y-coordinate of the top edge in the world
+     */
+    public double getY(double alpha) {
+        return alpha >= 1 ? y : prevY + (y - prevY) * alpha;
+    }
+
+    /**
+     * get width of the view
+     * @return width of the window
+     */
+    public double getViewWidth() {
+        return viewWidth;
+    }
+
+    /**
+     * get height of the view
+     * @return height of the window
+     */
+    public double getViewHeight() {
+        return viewHeight;
+    }
+}
@@ -0,0 +1,247 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Splits the world into a grid of fixed-size chunks and keeps the entities of one kind in the chunk
+ * they are in, so the game only has to look at the chunks near the camera. Chunks are numbered
+ * row by row; positions outside the world belong to the nearest edge chunk.
+ * @param <T> type of the entities
+ */
+public class ChunkGrid<T extends GameEntity> {
+    private static final int[] NO_INDICES = new int[0];
+
+    private final double chunkWidth;
+    private final double chunkHeight;
+    private final int columns;
+    private final int rows;
+    private final List<List<T>> chunks; // entities of each chunk, null until one is added
+    private final List<T> entities = new ArrayList<>(); // every entity added, in the order they were added
+    private final List<T> entitiesView = Collections.unmodifiableList(entities);
+
+    /**
+     * @param chunkWidth width of a chunk
+     * @param chunkHeight height of a chunk
+     * @param worldWidth width of the world, a whole number of chunks is used to cover it
+     * @param worldHeight height of the world, a whole number of chunks is used to cover it
+     */
+    public ChunkGrid(double chunkWidth, double chunkHeight, double worldWidth, double worldHeight) {
+        this.chunkWidth = chunkWidth;
+        this.chunkHeight = chunkHeight;
+        this.columns = Math.max(1, (int) Math.ceil(worldWidth / chunkWidth));
+        this.rows = Math.max(1, (int) Math.ceil(worldHeight / chunkHeight));
+        this.chunks = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            chunks.add(null);
+        }
+    }
+
+    /**
+     * get number of chunks
+     * @return number of chunks
+     */
+    public int getChunkCount() {
+        return columns * rows;
+    }
+
+    /**
+     * get number of columns of chunks
+     * @return number of columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * get number of rows of chunks
+     * @return number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * get the column of chunks containing an x-coordinate
+     * @param x x-coordinate
+     * @return column, clamped to the grid
+     */
+    public int columnOf(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / chunkWidth)));
+    }
+
+    /**
+     * get the row of chunks containing a y-coordinate
+     * @param y y-coordinate
+     * @return row, clamped to the grid
+     */
+    public int rowOf(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / chunkHeight)));
+    }
+
+    /**
+     * get the chunk containing a position
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return chunk number
+     */
+    public int chunkOf(double x, double y) {
+        return rowOf(y) * columns + columnOf(x);
+    }
+
+    /**
+     * get the chunk number of a column and row
+     * @param column column of the chunk
+     * @param row row of the chunk
+     * @return chunk number
+     */
+    public int chunkAt(int column, int row) {
+        return row * columns + column;
+    }
+
+    /**
+     * group positions by the chunk they are in, used to spawn entities chunk by chunk
+     * @param points x, y pairs
+     * @return for each chunk, the indices of its points in increasing order
+     */
+    public int[][] bucket(double[] points) {
+        int[] counts = new int[getChunkCount()];
+        for (int i = 0; i < points.length / 2; i++) {
+            counts[chunkOf(points[2 * i], points[2 * i + 1])]++;
+        }
+        int[][] indices = new int[getChunkCount()][];
+        for (int c = 0; c < indices.length; c++) {
+            indices[c] = counts[c] == 0 ? NO_INDICES : new int[counts[c]];
+            counts[c] = 0;
+        }
+        for (int i = 0; i < points.length / 2; i++) {
+            int c = chunkOf(points[2 * i], points[2 * i + 1]);
+            indices[c][counts[c]++] = i;
+        }
+        return indices;
+    }
+
+    /**
+     * add an entity to the grid, in the chunk at its position
+     * @param entity entity to add
+     */
+    public void add(T entity) {
+        entities.add(entity);
+        insert(entity);
+    }
+
+    /**
+     * put an entity of the grid in the chunk at its position
+     * @param entity entity of the grid
+     */
+    private void insert(T entity) {
+        int c = chunkOf(entity.x, entity.y);
+        if (chunks.get(c) == null) {
+            chunks.set(c, new ArrayList<>());
+        }
+        chunks.get(c).add(entity);
+        entity.setChunk(c);
+    }
+
+    /**
+     * move entities that left their chunk into the chunk they are in now
+     * @param entities entities of this grid that may have moved, all in the given rectangle of chunks
+     * @param minColumn first column of the rectangle
+     * @param minRow first row of the rectangle
+     * @param maxColumn last column of the rectangle, inclusive
+     * @param maxRow last row of the rectangle, inclusive
+     * @return true if any of them moved into a chunk outside the rectangle
+     */
+    public boolean rebucket(List<? extends T> entities, int minColumn, int minRow, int maxColumn, int maxRow) {
+        boolean isLeft = false;
+        for (T entity : entities) {
+            int c = chunkOf(entity.x, entity.y);
+            if (c != entity.getChunk()) {
+                swapRemove(chunks.get(entity.getChunk()), entity);
+                insert(entity);
+                int column = c % columns;
+                int row = c / columns;
+                if (column < minColumn || column > maxColumn || row < minRow || row > maxRow) {
+                    isLeft = true;
+                }
+            }
+        }
+        return isLeft;
+    }
+
+    /**
+     * take the entities that left play out of a list of active entities and out of their chunks, so they are
+     * no longer collected, updated or drawn; they stay in the grid to be reset or released
+     * @param active active entities of this grid, the last one is swapped into the place of each removed one
+     * @param isGone test for an entity that left play
+     * @return number of entities removed
+     */
+    public int despawn(List<T> active, Predicate<? super T> isGone) {
+        int removed = 0;
+        for (int i = active.size() - 1; i >= 0; i--) {
+            T entity = active.get(i);
+            if (isGone.test(entity)) {
+                swapRemove(active, i);
+                swapRemove(chunks.get(entity.getChunk()), entity);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * remove an entity from a list by moving the last one into its place, so nothing shifts
+     */
+    private static <E> void swapRemove(List<E> list, E entity) {
+        swapRemove(list, list.indexOf(entity));
+    }
+
+    private static <E> void swapRemove(List<E> list, int index) {
+        int last = list.size() - 1;
+        list.set(index, list.get(last));
+        list.remove(last);
+    }
+
+    /**
+     * append the entities of a rectangle of chunks, chunk by chunk
+     * @param minColumn first column
+     * @param minRow first row
+     * @param maxColumn last column, inclusive
+     * @param maxRow last row, inclusive
+     * @param out list to append to
+     */
+    public void collect(int minColumn, int minRow, int maxColumn, int maxRow, List<? super T> out) {
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                List<T> chunk = chunks.get(chunkAt(column, row));
+                if (chunk != null) {
+                    out.addAll(chunk);
+                }
+            }
+        }
+    }
+
+    /**
+     * get every entity of the grid, loaded anywhere in the world
+     * @return read-only list of all entities, in the order they were added
+     */
+    public List<T> getAll() {
+        return entitiesView;
+    }
+
+    /**
+     * reset every entity of the grid to the state it was constructed in, and put each back in the
+     * chunk it started in, in the order it was added as when it was first loaded; allocates nothing
+     */
+    public void reset() {
+        for (List<T> chunk : chunks) {
+            if (chunk != null) {
+                chunk.clear();
+            }
+        }
+        for (T entity : entities) {
+            entity.reset();
+            insert(entity);
+        }
+    }
+}
@@ -1,12 +1,9 @@
-import bagel.util.Rectangle;
-
 /**
  * Represents Donkey Kong in the game, affected by gravity and platform collisions.
  * The Donkey object moves downward due to gravity and lands on platforms when applicable.
  */
-public class Donkey extends GameEntity implements PhysicsAffected{
-    private final static String DONKEY_IMAGE = "res/donkey_kong.png";
-    private double velocityY = 0;
+public class Donkey extends FallingEntity{
+    final static String DONKEY_IMAGE = "res/donkey_kong.png";
 
     /**
      * Constructs a new Donkey at the specified starting position.
@@ -22,46 +19,46 @@ public class Donkey extends GameEntity implements PhysicsAffected{
      * Updates Donkey's position by applying gravity and checking for platform collisions.
      * If Donkey lands on a platform, the velocity is reset to zero.
      *
-     * @param platforms An array of platforms Donkey can land on.
+     * @param platforms The index of platforms Donkey can land on.
      */
-    public void update(Platform[] platforms) {
+    public void update(PlatformIndex platforms) {
         // Apply gravity
         applyGravity(platforms);
-        // Draw Donkey
-        draw();
-    }
-
-    /**
-     * Checks if Donkey is colliding with a given platform.
-     *
-     * @param platform The platform to check for collision.
-     * @return {@code true} if Donkey is touching the platform, {@code false} otherwise.
-     */
-    private boolean isTouchingPlatform(Platform platform) {
-        Rectangle donkeyBounds = getBoundingBox();
-        return donkeyBounds.intersects(platform.getBoundingBox());
     }
 
     /**
      * Apply gravity on Donkey and let it land on platform by detecting collision
-     * @param platforms An array of platforms for collision detection.
+     * @param platforms The index of platforms for collision detection.
      */
     @Override
-    public void applyGravity(Platform[] platforms) {
+    public void applyGravity(PlatformIndex platforms) {
+        if (isSleeping()) {
+            return; // resting on a platform
+        }
         // Apply gravity
         velocityY += DONKEY_GRAVITY;
+        double fromY = y;
         y += velocityY;
         if (velocityY > DONKEY_TERMINAL_VELOCITY) {
             velocityY = DONKEY_TERMINAL_VELOCITY;
         }
+        land(platforms, fromY);
+    }
+
+    /**
+     * land the donkey on the first platform it collides with after it moved, or crossed while moving
+     * @param platforms The index of platforms for collision detection.
+     * @param fromY y-coordinate before it moved
+     */
+    @Override
+    public void land(PlatformIndex platforms, double fromY) {
         // Check for platform collisions
-        for (Platform platform : platforms) {
-            if (isTouchingPlatform(platform)) {
-                // Position Donkey on top of the platform
-                y = platform.getY() - (platform.getHeight() / 2) - (height / 2);
-                velocityY = 0; // Stop downward movement
-                break;
-            }
+        Platform platform = platforms.findFirstCollision(this, fromY);
+        if (platform != null) {
+            // Position Donkey on top of the platform
+            y = platform.getY() - (platform.getHeight() / 2) - (height / 2);
+            velocityY = 0; // Stop downward movement
         }
+        rest(platform != null);
     }
 }
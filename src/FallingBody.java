@@ -0,0 +1,31 @@
+/**
+ * an entity falling on to the platforms whose gravity can be integrated in a batch:
+ * the batch moves y by the velocity of the body, then the body lands on its own,
+ * swept from where it was so it cannot fall through a platform whatever its speed
+ */
+public interface FallingBody extends PhysicsAffected {
+    /**
+     * check if gravity applies to the body this frame
+     * @return true if it falls; false if it is asleep, destroyed or killed
+     */
+    boolean isFalling();
+
+    /**
+     * get current vertical velocity
+     * @return current vertical velocity
+     */
+    double getVelocityY();
+
+    /**
+     * set current vertical velocity
+     * @param velocityY new vertical velocity
+     */
+    void setVelocityY(double velocityY);
+
+    /**
+     * land on the first platform the body collides with after it moved, or crossed while moving
+     * @param platforms The index of platforms for collision detection.
+     * @param fromY y-coordinate of the body before it moved
+     */
+    void land(PlatformIndex platforms, double fromY);
+}
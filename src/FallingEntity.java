@@ -0,0 +1,84 @@
+/**
+ * A game entity falling on to the platforms under gravity. It keeps the vertical velocity read and
+ * written by gravity batches, and goes to sleep once it rests on a platform: landing at the same height
+ * two frames in a row means the next frames would land there again, so gravity is skipped until it is woken.
+ */
+public abstract class FallingEntity extends GameEntity implements FallingBody {
+    /** current vertical velocity due to gravity */
+    protected double velocityY = 0;
+    private boolean isSleeping = false; // resting on a platform, gravity skipped until woken
+    private double restY = Double.NaN; // y after landing in the previous frame, NaN if it did not land
+
+    /**
+     * @param imagePath relative file path of entity image
+     * @param x The initial x-coordinate.
+     * @param y The initial y-coordinate.
+     */
+    public FallingEntity(String imagePath, double x, double y) {
+        super(imagePath, x, y);
+    }
+
+    /**
+     * put the entity back where it started, awake and still
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        velocityY = 0;
+        wake();
+    }
+
+    /**
+     * check if the entity falls this frame, skipped while it sleeps on a platform
+     * @return true if it falls; false otherwise
+     */
+    @Override
+    public boolean isFalling() {
+        return !isSleeping;
+    }
+
+    /**
+     * get current vertical velocity
+     * @return current vertical velocity
+     */
+    @Override
+    public double getVelocityY() {
+        return velocityY;
+    }
+
+    /**
+     * set current vertical velocity
+     * @param velocityY new vertical velocity
+     */
+    @Override
+    public void setVelocityY(double velocityY) {
+        this.velocityY = velocityY;
+    }
+
+    /**
+     * record whether the entity landed this frame, sending it to sleep on its second landing at the same height
+     * @param isLanded true if it landed on a platform this frame
+     */
+    protected void rest(boolean isLanded) {
+        isSleeping = isLanded && y == restY;
+        restY = isLanded ? y : Double.NaN;
+    }
+
+    /**
+     * check if the entity rests on a platform and skips gravity until woken
+     * @return true if asleep; false otherwise
+     */
+    @Override
+    public boolean isSleeping() {
+        return isSleeping;
+    }
+
+    /**
+     * wake the entity so gravity applies again
+     */
+    @Override
+    public void wake() {
+        isSleeping = false;
+        restY = Double.NaN;
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Turns real elapsed time into a whole number of fixed simulation ticks per rendered frame,
+ * so the game runs at the same speed whatever the display rate. The time left over,
+ * less than one tick, is kept for the next frame and gives the render interpolation factor.
+ */
+public class FixedStepClock {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long stepNanos; // simulated time of one tick
+    private final int maxStepsPerFrame; // longer stalls are dropped instead of caught up
+    private long lastTime;
+    private long accumulator = 0; // real time not yet simulated, in nanoseconds
+
+    /**
+     * @param ticksPerSecond number of simulation ticks per second of real time
+     * @param maxStepsPerFrame most ticks run for a single rendered frame
+     */
+    public FixedStepClock(int ticksPerSecond, int maxStepsPerFrame) {
+        this.stepNanos = NANOS_PER_SECOND / ticksPerSecond;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+        this.lastTime = System.nanoTime();
+    }
+
+    /**
+     * restart from the given time with nothing left to simulate, e.g. when a level starts
+     * @param now current time from System.nanoTime
+     */
+    public void reset(long now) {
+        lastTime = now;
+        accumulator = 0;
+    }
+
+    /**
+     * add the real time elapsed since the last call and take whole ticks out of it
+     * @param now current time from System.nanoTime
+     * @return number of ticks to run before rendering this frame
+     */
+    public int advance(long now) {
+        accumulator += now - lastTime;
+        lastTime = now;
+        long steps = accumulator / stepNanos;
+        if (steps > maxStepsPerFrame) {
+            // a stall such as dragging the window, do not fast forward through it
+            steps = maxStepsPerFrame;
+            accumulator = 0;
+        } else {
+            accumulator -= steps * stepNanos;
+        }
+        return (int) steps;
+    }
+
+    /**
+     * get how far the time left over is into the next tick, to interpolate the drawn positions
+     * @return interpolation factor from 0 (previous tick) to 1 (current tick)
+     */
+    public double getAlpha() {
+        return (double) accumulator / stepNanos;
+    }
+}
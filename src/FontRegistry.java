@@ -0,0 +1,22 @@
+import bagel.Font;
+
+import java.util.HashMap;
+
+/**
+ * A process-wide registry of fonts keyed by font file and size.
+ * Building a bagel font loads the font file and renders its glyphs, so each font is built once
+ * and shared by every screen drawing text with it. Fonts are few and small, they are never evicted.
+ */
+public class FontRegistry {
+    private static final HashMap<String, Font> FONTS = new HashMap<>(); // built fonts by file and size
+
+    /**
+     * get the shared font of a font file at a size, building it on first use
+     * @param fontFile relative file path of the font
+     * @param size font size in px
+     * @return the shared font
+     */
+    public static synchronized Font get(String fontFile, int size) {
+        return FONTS.computeIfAbsent(fontFile + "@" + size, key -> new Font(fontFile, size));
+    }
+}
@@ -0,0 +1,174 @@
+import bagel.Font;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times the phases of each frame into latency histograms. A frame is split into consecutive phases:
+ * {@link #lap(int)} ends the current phase and starts the next one, so only one System.nanoTime
+ * call is made per phase and nothing is allocated once the phases are registered.
+ * A disabled profiler does nothing at all.
+ */
+public class FrameProfiler {
+    /** Profiler that records nothing, used when profiling is off */
+    public static final FrameProfiler NONE = new FrameProfiler(false);
+
+    private static final String FRAME = "frame"; // name of the phase timing whole frames
+    private static final double NANOS_PER_MICRO = 1000.0;
+    private static final int OVERLAY_REFRESH_FRAMES = GamePlayScreen.TICKS_PER_SECOND / 2; // frames between overlay updates
+    private static final int OVERLAY_LINE_HEIGHT = 18; // px between overlay lines
+
+    private final boolean isEnabled; // false to record nothing
+    private final List<String> names = new ArrayList<>(); // name of each phase, by phase id
+    private final List<LatencyHistogram> histograms = new ArrayList<>(); // latencies of each phase, by phase id
+    private final int frameId; // phase id of whole frames
+    private long frameStart; // time the current frame started, in ns
+    private long lapStart; // time the current phase started, in ns
+
+    private boolean isOverlayVisible = false; // true to draw the overlay
+    private final List<String> overlayLines = new ArrayList<>(); // overlay text, refreshed now and then
+    private int overlayAge = OVERLAY_REFRESH_FRAMES; // frames since the overlay text was refreshed
+
+    /**
+     * Constructs a profiler
+     * @param isEnabled false for a profiler that records nothing
+     */
+    public FrameProfiler(boolean isEnabled) {
+        this.isEnabled = isEnabled;
+        this.frameId = isEnabled ? phase(FRAME) : 0;
+    }
+
+    /**
+     * check if this profiler records anything
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * get the id of a phase, registering it the first time its name is seen;
+     * call when setting up, not every frame
+     * @param name name of the phase
+     * @return phase id to pass to lap, 0 for a disabled profiler
+     */
+    public int phase(String name) {
+        if (!isEnabled) {
+            return 0;
+        }
+        int id = names.indexOf(name);
+        if (id < 0) {
+            id = names.size();
+            names.add(name);
+            histograms.add(new LatencyHistogram());
+        }
+        return id;
+    }
+
+    /**
+     * start timing a frame and its first phase
+     */
+    public void startFrame() {
+        if (isEnabled) {
+            frameStart = System.nanoTime();
+            lapStart = frameStart;
+        }
+    }
+
+    /**
+     * end the current phase, recording its time under the given phase, and start the next one
+     * @param phase id of the phase just ended
+     */
+    public void lap(int phase) {
+        if (isEnabled) {
+            long now = System.nanoTime();
+            histograms.get(phase).record(now - lapStart);
+            lapStart = now;
+        }
+    }
+
+    /**
+     * end the current frame, recording its whole time
+     */
+    public void endFrame() {
+        if (isEnabled) {
+            long now = System.nanoTime();
+            histograms.get(frameId).record(now - frameStart);
+            lapStart = now;
+            overlayAge++;
+        }
+    }
+
+    /**
+     * show or hide the overlay
+     */
+    public void toggleOverlay() {
+        isOverlayVisible = !isOverlayVisible;
+        overlayAge = OVERLAY_REFRESH_FRAMES;
+    }
+
+    /**
+     * draw p50, p99 and max of every phase at the top left corner of the window, if the overlay is shown;
+     * the text is refreshed twice a second
+     * @param font font for the overlay
+     * @param x x-coordinate of the first line
+     * @param y y-coordinate of the first line
+     */
+    public void drawOverlay(Font font, double x, double y) {
+        if (!isEnabled || !isOverlayVisible) {
+            return;
+        }
+        if (overlayAge >= OVERLAY_REFRESH_FRAMES) {
+            overlayAge = 0;
+            overlayLines.clear();
+            for (int i = 0; i < names.size(); i++) {
+                if (histograms.get(i).getTotalCount() > 0) {
+                    overlayLines.add(summary(i));
+                }
+            }
+        }
+        for (int i = 0; i < overlayLines.size(); i++) {
+            font.drawString(overlayLines.get(i), x, y + i * OVERLAY_LINE_HEIGHT);
+        }
+    }
+
+    /**
+     * write p50, p99 and max of every phase, one line per phase
+     * @param out stream to write to
+     */
+    public void report(PrintStream out) {
+        if (!isEnabled) {
+            return;
+        }
+        out.println("phase p50(us) p99(us) max(us) count");
+        for (int i = 0; i < names.size(); i++) {
+            if (histograms.get(i).getTotalCount() > 0) {
+                out.println(summary(i) + " " + histograms.get(i).getTotalCount());
+            }
+        }
+    }
+
+    /**
+     * forget the latencies of every phase, keeping the phases registered
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        overlayAge = OVERLAY_REFRESH_FRAMES;
+    }
+
+    /**
+     * format p50, p99 and max of a phase in microseconds
+     * @param phase phase id
+     * @return name followed by the three latencies
+     */
+    private String summary(int phase) {
+        LatencyHistogram histogram = histograms.get(phase);
+        return String.format("%s %.1f %.1f %.1f", names.get(phase),
+                histogram.getValueAtPercentile(50) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MICRO,
+                histogram.getMax() / NANOS_PER_MICRO);
+    }
+}
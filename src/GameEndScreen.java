@@ -7,7 +7,7 @@ import java.util.Properties;
  * and waits for the player to press SPACE to continue.
  */
 public class GameEndScreen {
-    private final Image BACKGROUND_IMAGE; // Background image for the end screen
+    private final Sprite BACKGROUND_IMAGE; // Background image for the end screen
 
     private final String GAME_WON_TXT;  // Message displayed when the player wins
     private final String GAME_LOST_TXT; // Message displayed when the player loses
@@ -41,7 +41,7 @@ public class GameEndScreen {
      */
     public GameEndScreen(Properties gameProps, Properties msgProps) {
         // Load the background image and end-game messages from properties
-        this.BACKGROUND_IMAGE = new Image(gameProps.getProperty("backgroundImage"));
+        this.BACKGROUND_IMAGE = SpriteRegistry.acquire(gameProps.getProperty("backgroundImage"));
         this.GAME_WON_TXT = msgProps.getProperty("gameEnd.won");
         this.GAME_LOST_TXT = msgProps.getProperty("gameEnd.lost");
         this.CONTINUE_GAME_TXT = msgProps.getProperty("gameEnd.continue");
@@ -83,6 +83,13 @@ public class GameEndScreen {
         }
     }
 
+    /**
+     * Releases the background sprite once this screen is discarded.
+     */
+    public void release() {
+        SpriteRegistry.release(BACKGROUND_IMAGE);
+    }
+
     /**
      * Renders the game end screen, including the final score, win/loss message after every game play (except win L1),
      * and a prompt for the player to continue. Also checks for user input to exit the screen.
@@ -11,11 +11,18 @@ public class GameEntity {
     /** y-coordinate of the game entity */
     public double y;
     /** current image of the game entity */
-    public Image currentImage;
+    public Sprite currentImage;
     /** height of the game entity's image */
     public double height;
     /** width of the game entity's image */
     public double width;
+    private double prevX; // x-coordinate at the start of the current tick, for render interpolation and swept tests
+    private double prevY; // y-coordinate at the start of the current tick, for render interpolation and swept tests
+    private final double startX; // x-coordinate when constructed, restored by reset
+    private final double startY; // y-coordinate when constructed, restored by reset
+    private final double startWidth; // width of the starting image, restored by reset
+    private final double startHeight; // height of the starting image, restored by reset
+    private int chunk = -1; // chunk of the world the entity is kept in, -1 until added to a chunk grid
 
     /**
      *
@@ -24,11 +31,37 @@ public class GameEntity {
      * @param y The initial y-coordinate of the game entity.
      */
     public GameEntity(String imagePath, double x, double y) {
-        this.currentImage = new Image(imagePath); // image for provided image path
+        this.currentImage = SpriteRegistry.acquire(imagePath); // shared image for provided image path
         this.x = x;
         this.y = y;
         this.height = this.currentImage.getHeight();
         this.width = this.currentImage.getWidth();
+        this.startX = x;
+        this.startY = y;
+        this.startWidth = width;
+        this.startHeight = height;
+        savePosition();
+    }
+
+    /**
+     * put the entity back in the state it was constructed in, without allocating;
+     * entities with more state restore it too
+     */
+    public void reset() {
+        x = startX;
+        y = startY;
+        width = startWidth;
+        height = startHeight;
+        savePosition();
+    }
+
+    /**
+     * remember the current position as the one of the previous tick, called before each tick moves
+     * the entity and after teleporting it so it is not drawn sliding across the screen
+     */
+    public void savePosition() {
+        prevX = x;
+        prevY = y;
     }
 
     /**
@@ -38,21 +71,180 @@ public class GameEntity {
         currentImage.draw(x, y);
     }
 
+    /**
+     * draw the entity between its position of the previous tick and the current one
+     * @param alpha interpolation factor from 0 (previous tick) to 1 (current tick)
+     */
+    public void draw(double alpha) {
+        draw(alpha, 0, 0);
+    }
+
+    /**
+     * draw the entity between its position of the previous tick and the current one,
+     * shifted from world to screen coordinates by the top-left corner of the camera view
+     * @param alpha interpolation factor from 0 (previous tick) to 1 (current tick)
+     * @param offsetX left edge of the camera view in the world
+     * @param offsetY top edge of the camera view in the world
+     */
+    public void draw(double alpha, double offsetX, double offsetY) {
+        double currX = x;
+        double currY = y;
+        if (alpha < 1) {
+            x = prevX + (currX - prevX) * alpha;
+            y = prevY + (currY - prevY) * alpha;
+        }
+        x -= offsetX;
+        y -= offsetY;
+        draw();
+        x = currX;
+        y = currY;
+    }
+
+    /**
+     * get the chunk of the world the entity is kept in
+     * @return chunk number, -1 if not kept in a chunk grid
+     */
+    public int getChunk() {
+        return chunk;
+    }
+
+    /**
+     * set the chunk of the world the entity is kept in
+     * @param chunk chunk number
+     */
+    public void setChunk(int chunk) {
+        this.chunk = chunk;
+    }
+
+    /**
+     * release the sprites of the entity to the sprite registry once it is removed from the game
+     */
+    public void release() {
+        SpriteRegistry.release(currentImage);
+    }
+
     /**
      * get bounding box of the entity used for collision detection.
+     * allocates a new Rectangle, collision checks use the primitive bounds below instead
      * @return a Rectangle represents entity's bounds
      */
     public Rectangle getBoundingBox() {
         return new Rectangle(x - (width / 2), y - (height / 2), width, height);
     }
 
+    /**
+     * get left edge of the bounding box
+     * @return x-coordinate of the left edge
+     */
+    public double getLeft() {
+        return x - (width / 2);
+    }
+
+    /**
+     * get top edge of the bounding box
+     * @return y-coordinate of the top edge
+     */
+    public double getTop() {
+        return y - (height / 2);
+    }
+
+    /**
+     * get right edge of the bounding box, computed from the left edge as the Rectangle does
+     * @return x-coordinate of the right edge
+     */
+    public double getRight() {
+        return getLeft() + width;
+    }
+
+    /**
+     * get bottom edge of the bounding box, computed from the top edge as the Rectangle does
+     * @return y-coordinate of the bottom edge
+     */
+    public double getBottom() {
+        return getTop() + height;
+    }
+
+    /**
+     * check if the bounding box overlaps the given box, without allocating;
+     * boxes only touching at an edge do not overlap
+     * @param minX left edge of the other box
+     * @param minY top edge of the other box
+     * @param maxX right edge of the other box
+     * @param maxY bottom edge of the other box
+     * @return true if the boxes overlap; false otherwise
+     */
+    public boolean intersects(double minX, double minY, double maxX, double maxY) {
+        return getLeft() < maxX && getRight() > minX && getTop() < maxY && getBottom() > minY;
+    }
+
     /**
      * check if there's collision between this and another game entity
      * @param other another GameEntity for collision check
      * @return true for colision happen; false otherwise
      */
     public boolean isCollide(GameEntity other) {
-        return (this.getBoundingBox()).intersects(other.getBoundingBox());
+        return intersects(other.getLeft(), other.getTop(), other.getRight(), other.getBottom());
+    }
+
+    /**
+     * check if there's collision between this and another game entity at any time of the current tick,
+     * both moving in a straight line from their position at the start of the tick (swept AABB test),
+     * so a fast entity cannot pass through another between two ticks
+     * @param other another GameEntity for collision check
+     * @return true for colision happen; false otherwise
+     */
+    public boolean isSweptCollide(GameEntity other) {
+        if (isCollide(other)) {
+            return true;
+        }
+        // move this box relative to the other one, which then stands still at the origin
+        double startX = prevX - other.prevX;
+        double startY = prevY - other.prevY;
+        double moveX = (x - other.x) - startX;
+        double moveY = (y - other.y) - startY;
+        double halfWidth = (width + other.width) / 2;
+        double halfHeight = (height + other.height) / 2;
+        // the boxes overlap while the center is strictly inside the box of both half sizes on each axis,
+        // narrow the part of the tick [entry, exit] where it is inside on both
+        double entry = 0;
+        double exit = 1;
+        if (moveX == 0) {
+            if (Math.abs(startX) >= halfWidth) {
+                return false;
+            }
+        } else {
+            double first = (-halfWidth - startX) / moveX;
+            double second = (halfWidth - startX) / moveX;
+            entry = Math.max(entry, Math.min(first, second));
+            exit = Math.min(exit, Math.max(first, second));
+        }
+        if (moveY == 0) {
+            if (Math.abs(startY) >= halfHeight) {
+                return false;
+            }
+        } else {
+            double first = (-halfHeight - startY) / moveY;
+            double second = (halfHeight - startY) / moveY;
+            entry = Math.max(entry, Math.min(first, second));
+            exit = Math.min(exit, Math.max(first, second));
+        }
+        return entry < exit;
+    }
+
+    /**
+     * get x-coordinate at the start of the current tick
+     * @return x-coordinate before the tick moved the entity
+     */
+    public double getPrevX() {
+        return prevX;
+    }
+
+    /**
+     * get y-coordinate at the start of the current tick
+     * @return y-coordinate before the tick moved the entity
+     */
+    public double getPrevY() {
+        return prevY;
     }
 
     /**
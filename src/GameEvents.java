@@ -0,0 +1,140 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder events of the game, so a recording shows which game action came with an
+ * allocation burst or a GC pause. Events are only built and committed while a recording has them
+ * enabled; otherwise the JIT removes them and they cost nothing.
+ */
+public final class GameEvents {
+    private static final String CATEGORY = "Shadow Donkey Kong";
+
+    private GameEvents() {
+    }
+
+    /**
+     * Construction of a level or of its extra game objects
+     */
+    @Name("dk.LevelLoad")
+    @Label("Level Load")
+    @Category(CATEGORY)
+    public static class LevelLoad extends Event {
+        @Label("Level")
+        int level;
+        @Label("Stage")
+        @Description("Part of the level being built")
+        String stage;
+    }
+
+    /**
+     * Change from one screen of the game to another
+     */
+    @Name("dk.ScreenTransition")
+    @Label("Screen Transition")
+    @Category(CATEGORY)
+    public static class ScreenTransition extends Event {
+        @Label("From")
+        String from;
+        @Label("To")
+        String to;
+        @Label("Score")
+        int score;
+    }
+
+    /**
+     * A projectile fired, new or reused from its pool
+     */
+    @Name("dk.ProjectileSpawn")
+    @Label("Projectile Spawn")
+    @Category(CATEGORY)
+    public static class ProjectileSpawn extends Event {
+        @Label("Kind")
+        String kind;
+        @Label("X")
+        double x;
+        @Label("Y")
+        double y;
+        @Label("Recycled")
+        boolean isRecycled;
+    }
+
+    /**
+     * A monkey killed or a barrel destroyed
+     */
+    @Name("dk.EntityDeath")
+    @Label("Entity Death")
+    @Category(CATEGORY)
+    public static class EntityDeath extends Event {
+        @Label("Kind")
+        String kind;
+        @Label("X")
+        double x;
+        @Label("Y")
+        double y;
+    }
+
+    /**
+     * A frame of the game window, only recorded when it takes longer than the frame budget
+     */
+    @Name("dk.SlowFrame")
+    @Label("Slow Frame")
+    @Category(CATEGORY)
+    @Threshold("17 ms")
+    public static class SlowFrame extends Event {
+        @Label("Level")
+        int level;
+        @Label("Ticks")
+        @Description("Simulation ticks run in the frame")
+        int ticks;
+    }
+
+    /**
+     * record the change from one screen to another
+     * @param from screen left
+     * @param to screen entered
+     * @param score score carried into the new screen
+     */
+    public static void screenTransition(String from, String to, int score) {
+        ScreenTransition event = new ScreenTransition();
+        if (event.shouldCommit()) {
+            event.from = from;
+            event.to = to;
+            event.score = score;
+            event.commit();
+        }
+    }
+
+    /**
+     * record a projectile being fired
+     * @param projectile projectile fired
+     * @param isRecycled true if it was reused from its pool
+     */
+    public static void projectileSpawn(Projectile projectile, boolean isRecycled) {
+        ProjectileSpawn event = new ProjectileSpawn();
+        if (event.shouldCommit()) {
+            event.kind = projectile.getClass().getSimpleName();
+            event.x = projectile.x;
+            event.y = projectile.y;
+            event.isRecycled = isRecycled;
+            event.commit();
+        }
+    }
+
+    /**
+     * record an entity leaving the game
+     * @param entity monkey killed or barrel destroyed
+     */
+    public static void entityDeath(GameEntity entity) {
+        EntityDeath event = new EntityDeath();
+        if (event.shouldCommit()) {
+            event.kind = entity.getClass().getSimpleName();
+            event.x = entity.x;
+            event.y = entity.y;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+import bagel.Keys;
+
+/**
+ * an interface for the keyboard state consumed by the game simulation each frame
+ * implemented by the bagel window input and by synthetic input sources for headless runs
+ */
+public interface GameInput {
+    /**
+     * check if a key is currently held down
+     * @param key the key to check
+     * @return true if the key is held down in this frame; false otherwise
+     */
+    boolean isDown(Keys key);
+
+    /**
+     * check if a key was pressed in this frame
+     * @param key the key to check
+     * @return true if the key went down in this frame; false otherwise
+     */
+    boolean wasPressed(Keys key);
+}
@@ -1,8 +1,9 @@
 import bagel.*;
-import bagel.Input;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * Represents the main gameplay screen where the player controls Mario.
@@ -11,23 +12,74 @@ import java.util.Properties;
  */
 public abstract class GamePlayScreen {
     private final Properties GAME_PROPS;
+    private LevelData levelData; // starting layout of the level, replaced when its properties are edited
 
     // Game objectss for both levels and blasters for level2
     /** Mario, player control character */
     public Mario mario;
-    private Barrel[] barrels;   // Array of barrels in the game
-    private Ladder[] ladders;   // Array of ladders in the game
-    private Hammer[] hammers;// Array of hammers object that Mario can collect
+    private final List<Barrel> barrels = new ArrayList<>();   // barrels of the active chunks
+    private final List<Ladder> ladders = new ArrayList<>();   // ladders of the active chunks
+    private final List<Hammer> hammers = new ArrayList<>(); // hammers of the active chunks that Mario can collect
     /** Donkey Kong, the objective of the game */
     public Donkey donkey;
-    private Image background;   // Background image for the game
-    /** Array of platforms in the game */
+    private Sprite background;   // Background image for the game
+    static final String BACKGROUND_IMAGE = "res/background.png";
+    // types every level constructs, initialized ahead by AssetPreloader; add a type here when a level starts creating it
+    static final Class<?>[] CREATED_CLASSES = {
+            Mario.class, Donkey.class, Barrel.class, Ladder.class, Hammer.class, Platform.class, PlatformIndex.class,
+            Camera.class, GameSession.class, ChunkGrid.class, GravityBatch.class, UniformGridBroadphase.class,
+            SweepAndPruneBroadphase.class, BruteForceBroadphase.class, HudText.class};
+    /** Array of platforms in the game, all created at once since they never move */
     public Platform[] platforms;
-    private Blaster[] blasters = new Blaster[0]; // Array of blasters object that Mario can collect
+    private final List<Platform> activePlatforms = new ArrayList<>(); // platforms of the active chunks, to draw
+    /** Index of the platforms, used for ground and landing checks */
+    public PlatformIndex platformIndex;
+    private Broadphase<Blaster> blasters; // Blasters that Mario can collect, level2 only
+
+    // Chunks of the world, only the ones around the camera are loaded and updated
+    private Camera camera; // part of the world shown in the window, follows mario
+    private ChunkGrid<Platform> platformGrid;
+    private ChunkGrid<Ladder> ladderGrid;
+    private ChunkGrid<Barrel> barrelGrid;
+    private ChunkGrid<Hammer> hammerGrid;
+    private int[][] ladderSpawns; // for each chunk, the ladders of the level data it spawns once loaded
+    private int[][] barrelSpawns;
+    private int[][] hammerSpawns;
+    private boolean[] isChunkLoaded; // chunks whose entities are spawned
+    private int minColumn = -1; // first column of the active chunks, -1 before the first update
+    private int minRow;
+    private int maxColumn;
+    private int maxRow;
+
+    // Broadphases finding the entities near Mario
+    private final String BROADPHASE; // broadphase type of current level: none, grid or sweep
+    private Broadphase<Barrel> barrelPhase;
+    private Broadphase<Hammer> hammerPhase;
+
+    // Batched gravity of the falling bodies
+    private final GravityKernel GRAVITY_KERNEL; // kernel integrating gravity: scalar or vector
+    private GravityBatch<Ladder> ladderGravity;
+    private GravityBatch<Barrel> barrelGravity;
+
+    // Phases of a frame timed by the profiler
+    private FrameProfiler profiler = FrameProfiler.NONE; // records nothing unless a profiler is set
+    private int chunksPhase;
+    private int laddersPhase;
+    private int barrelsPhase;
+    private int donkeyPhase;
+    private int marioPhase;
+    private int cameraPhase;
+    private int renderPhase;
+    private int hudPhase;
+    private int renderExtraPhase;
+
+    /** Number of simulation ticks per second, the unit of all per-frame speeds and of gamePlay.maxFrames */
+    public static final int TICKS_PER_SECOND = 60;
 
     // Frame tracking
-    private int currFrame = 0;  // Tracks the number of frames elapsed
-    private int donkeyHP = 5; // Store real-time value for donkey health
+    private int currFrame = 0;  // Tracks the number of ticks simulated, whatever the display rate
+    private static final int DONKEY_HP = 5; // donkey health at the start of a level
+    private int donkeyHP = DONKEY_HP; // Store real-time value for donkey health
 
     // Game parameters
     private final int MAX_FRAMES;  // Maximum number of frames before game ends
@@ -39,6 +91,9 @@ public abstract class GamePlayScreen {
     private final int DKH_X; // x-coord for donkey health info
     private final int DKH_Y; // y-coord for donkey health info
     private static final int TIME_DISPLAY_DIFF_Y = 30; // difference between y-coord of time and score
+    private final HudText SCORE_TEXT; // cached score info, null without a window
+    private final HudText TIME_TEXT; // cached time info, null without a window
+    private final HudText DKH_TEXT; // cached donkey health info, null without a window
 
     // Display message for game status
     private static final String SCORE_MESSAGE = "SCORE ";  // text before display score
@@ -54,6 +109,7 @@ public abstract class GamePlayScreen {
     /** Game over flag */
     public boolean isGameOver = false;
     private int currLevel; // indicate current game level
+    private final GameSession session; // screen bounds of the session this level belongs to
 
     private final int LEVEL2 = 2; // at level 2 of game
 
@@ -66,13 +122,55 @@ public abstract class GamePlayScreen {
         return startedScore;
     }
 
+    /**
+     * get the game session of this level, giving the screen bounds to its entities
+     * @return the game session
+     */
+    public GameSession getSession() {
+        return session;
+    }
+
+    /**
+     * set the profiler timing the phases of each tick and render, registering the phases once
+     * @param profiler frame profiler, {@link FrameProfiler#NONE} to time nothing
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+        this.chunksPhase = profiler.phase("chunks");
+        this.laddersPhase = profiler.phase("ladders");
+        this.barrelsPhase = profiler.phase("barrels");
+        this.donkeyPhase = profiler.phase("donkey");
+        this.marioPhase = profiler.phase("mario");
+        registerPhasesExtra(profiler);
+        this.cameraPhase = profiler.phase("camera");
+        this.renderPhase = profiler.phase("render");
+        this.hudPhase = profiler.phase("hud");
+        this.renderExtraPhase = profiler.phase("renderExtra");
+    }
+
+    /**
+     * get the profiler timing the phases of each tick and render
+     * @return frame profiler, {@link FrameProfiler#NONE} if none is set
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * get current level number
+     * @return current level number, 1 or 2
+     */
+    public int getCurrLevel() {
+        return currLevel;
+    }
+
     /**
      * Calculates the remaining time left in seconds.
      *
      * @return The number of seconds remaining before the game ends.
      */
     public int getSecondsLeft() {
-        return (MAX_FRAMES - currFrame) / 60;
+        return (MAX_FRAMES - currFrame) / TICKS_PER_SECOND;
     }
 
 
@@ -83,11 +181,25 @@ public abstract class GamePlayScreen {
      * @param startedScore initial score of game
      */
     public GamePlayScreen(Properties gameProps, int currLevel, int startedScore) {
+        this(gameProps, currLevel, startedScore, LevelData.load(gameProps, currLevel));
+    }
+
+    /**
+     * Constructs the gameplay screen from a layout loaded in advance, initializing game objects.
+     * @param gameProps property file with game setting
+     * @param currLevel current level number
+     * @param startedScore initial score of game
+     * @param levelData starting layout of the level
+     */
+    public GamePlayScreen(Properties gameProps, int currLevel, int startedScore, LevelData levelData) {
+        GameEvents.LevelLoad load = new GameEvents.LevelLoad();
+        load.begin();
         this.GAME_PROPS = gameProps;
 
         // Load game parameters
         this.MAX_FRAMES = Integer.parseInt(gameProps.getProperty("gamePlay.maxFrames"));
-        this.STATUS_FONT = new Font(
+        // no font can be loaded without a window, status info is only drawn on screen
+        this.STATUS_FONT = Sprite.isHeadless() ? null : FontRegistry.get(
                 gameProps.getProperty("font"),
                 Integer.parseInt(gameProps.getProperty("gamePlay.score.fontSize"))
         );
@@ -96,114 +208,336 @@ public abstract class GamePlayScreen {
 
         this.DKH_X = Integer.parseInt(gameProps.getProperty("gamePlay.donkeyhealth.coords").split(",")[0]);
         this.DKH_Y = Integer.parseInt(gameProps.getProperty("gamePlay.donkeyhealth.coords").split(",")[1]);
+        this.SCORE_TEXT = STATUS_FONT == null ? null : new HudText(STATUS_FONT, SCORE_MESSAGE, SCORE_X, SCORE_Y);
+        this.TIME_TEXT = STATUS_FONT == null ? null :
+                new HudText(STATUS_FONT, TIME_MESSAGE, SCORE_X, SCORE_Y + TIME_DISPLAY_DIFF_Y);
+        this.DKH_TEXT = STATUS_FONT == null ? null : new HudText(STATUS_FONT, DKH_MESSAGE, DKH_X, DKH_Y);
 
-        this.background = new Image("res/background.png");
+        this.background = SpriteRegistry.acquire(BACKGROUND_IMAGE);
         this.currLevel = currLevel;
+        this.session = new GameSession(gameProps, currLevel);
         this.startedScore = startedScore;
+        this.BROADPHASE = gameProps.getProperty("broadphase.level" + currLevel, Broadphase.NONE);
+        this.GRAVITY_KERNEL = GravityKernel.create(gameProps.getProperty("gravity.kernel", GravityKernel.SCALAR));
+        this.levelData = levelData;
         // Initialize game objects
         initializeGameObjects();
+        load.level = currLevel;
+        load.stage = "gamePlayScreen";
+        load.commit();
     }
 
     /**
-     * use to read in properties of game entity with format
-     * (gameEntityName).level(cuurLevel).count = number of entity in that level
-     * (gameEntityName).level(cuurLevel).(i: 1...count)
-     * @param <T> game entity
-     */
-    public interface EntityFactory<T extends GameEntity> {
-        T create(String[] entityStr);
-    }
-    <T extends GameEntity> ArrayList<T> loadEntities(
-            Properties props, String prefix,
-            int currLevel, EntityFactory<T> factory
-    ) {
-        ArrayList<T> entities = new ArrayList<>();
-        // set base key as composition of entity prefix and level
-        String baseKey = prefix + ".level" + currLevel;
-        // get number of the specific entity
-        int count = Integer.parseInt(props.getProperty(baseKey + ".count"));
-        // read data for ith object for the entity
-        for (int i = 1; i <= count; i++) {
-            String data = props.getProperty(baseKey + "." + i);
-            if (data == null) continue;
-            String[] entityStr = data.split(";");
-            try {
-                // create entity by factory
-                T entity = factory.create(entityStr);
-                entities.add(entity);
-            } catch (Exception e) {
-                // error message for unable to create
-                System.out.println("Error creating " + prefix + "." + i + ": " + e.getMessage());
-            }
-        }
-        return entities;
+     * get the starting layout of this level
+     * @return layout of the level
+     */
+    LevelData getLevelData() {
+        return levelData;
+    }
+
+    /**
+     * create a broadphase of the type set for the current level
+     * @param <T> type of the entities it will index
+     * @return a new broadphase
+     */
+    <T extends GameEntity> Broadphase<T> createBroadphase() {
+        return Broadphase.create(BROADPHASE);
+    }
+
+    /**
+     * create an empty chunk grid covering the world of this level, with chunks the size of the window
+     * @param <T> type of the entities it will keep
+     * @return a new chunk grid
+     */
+    <T extends GameEntity> ChunkGrid<T> createChunkGrid() {
+        return new ChunkGrid<>(session.getScreenWidth(), session.getScreenHeight(),
+                session.getWorldWidth(), session.getWorldHeight());
+    }
+
+    /**
+     * create a gravity batch using the kernel set in the properties file
+     * @param gravity gravity of this kind of body
+     * @param terminalVelocity terminal velocity of this kind of body
+     * @param isClampedBeforeMove true if the body moves by the limited velocity
+     * @param <T> type of the bodies
+     * @return a new gravity batch
+     */
+    <T extends GameEntity & FallingBody> GravityBatch<T> createGravityBatch(
+            double gravity, double terminalVelocity, boolean isClampedBeforeMove) {
+        return new GravityBatch<>(GRAVITY_KERNEL, gravity, terminalVelocity, isClampedBeforeMove);
     }
 
     /**
-     * Initializes game objects such as Mario, Donkey Kong, barrels, ladders, platforms, and the hammer.
+     * Initializes game objects such as Mario, Donkey Kong and platforms, barrels, ladders and hammers
+     * are only spawned once their chunk is loaded.
      */
     private void initializeGameObjects() {
         // Create Mario
-        String[] marioCoord = GAME_PROPS.getProperty("mario.level" + currLevel).split(",");
-        double marioX = Double.parseDouble(marioCoord[0]);
-        double marioY = Double.parseDouble(marioCoord[1]);
-        this.mario = new Mario(marioX, marioY);
+        double[] marioCoord = levelData.getMario();
+        this.mario = new Mario(marioCoord[0], marioCoord[1], session);
 
         // Create Donkey Kong
-        String[] DonkeyCoord = GAME_PROPS.getProperty("donkey.level" + currLevel).split(",");
-        double donkeyX = Double.parseDouble(DonkeyCoord[0]);
-        double donkeyY = Double.parseDouble(DonkeyCoord[1]);
-        this.donkey = new Donkey(donkeyX, donkeyY);
+        double[] donkeyCoord = levelData.getDonkey();
+        this.donkey = new Donkey(donkeyCoord[0], donkeyCoord[1]);
 
         // Create the Platforms array
-        String platformData = GAME_PROPS.getProperty("platforms.level" + currLevel);
-        if (platformData != null && !platformData.isEmpty()) {
-            String[] platformEntries = platformData.split(";");
-            this.platforms = new Platform[platformEntries.length];
-            int pIndex = 0;
-            for (String entry : platformEntries) {
-                String[] coords = entry.trim().split(",");
-                if (coords.length < 2) {
-                    System.out.println("Warning: Invalid platform entry -> " + entry);
-                    continue; // Skip invalid entries with wrong coordinate format
-                }
-                double x = Double.parseDouble(coords[0]);
-                double y = Double.parseDouble(coords[1]);
-                if (pIndex < platformEntries.length) {
-                    platforms[pIndex] = new Platform(x, y);
-                    pIndex++;
+        createPlatforms();
+
+        // the other entities are spawned chunk by chunk, near the camera
+        this.camera = new Camera(session);
+        camera.follow(mario);
+        camera.savePosition();
+        this.ladderGrid = createChunkGrid();
+        this.barrelGrid = createChunkGrid();
+        this.hammerGrid = createChunkGrid();
+        this.ladderSpawns = ladderGrid.bucket(levelData.getLadders());
+        this.barrelSpawns = barrelGrid.bucket(levelData.getBarrels());
+        this.hammerSpawns = hammerGrid.bucket(levelData.getHammers());
+        this.isChunkLoaded = new boolean[platformGrid.getChunkCount()];
+
+        // hammers only change with the active chunks; barrels are indexed every frame
+        this.hammerPhase = createBroadphase();
+        this.barrelPhase = createBroadphase();
+        // ladders and barrels limit their velocity before moving
+        this.ladderGravity = createGravityBatch(PhysicsAffected.LADDER_GRAVITY,
+                PhysicsAffected.LADDER_TERMINAL_VELOCITY, true);
+        this.barrelGravity = createGravityBatch(PhysicsAffected.BARREL_GRAVITY,
+                PhysicsAffected.BARREL_TERMINAL_VELOCITY, true);
+    }
+
+    /**
+     * Creates every platform of the level data with its index and chunk grid.
+     */
+    private void createPlatforms() {
+        double[] platformCoords = levelData.getPlatforms();
+        this.platforms = new Platform[platformCoords.length / 2];
+        for (int i = 0; i < platforms.length; i++) {
+            platforms[i] = new Platform(platformCoords[2 * i], platformCoords[2 * i + 1]);
+        }
+        // platforms never move, index them once; falling bodies land on them anywhere in the world
+        this.platformIndex = new PlatformIndex(platforms);
+        this.platformGrid = createChunkGrid();
+        for (Platform platform : platforms) {
+            platformGrid.add(platform);
+        }
+    }
+
+    /**
+     * Loads the chunks around the camera view once the level is constructed, spawning their entities,
+     * timed as the last stage of the level load
+     */
+    protected void loadStartingChunks() {
+        GameEvents.LevelLoad load = new GameEvents.LevelLoad();
+        load.begin();
+        updateActiveChunks();
+        load.level = currLevel;
+        load.stage = "chunks";
+        load.commit();
+    }
+
+    /**
+     * Loads the chunks around the camera view, one chunk beyond each edge, and makes their entities
+     * the active ones updated and drawn. Chunks away from the camera are kept frozen, not unloaded,
+     * so they are found as they were left when the camera comes back.
+     * Called once the level is constructed and at the start of every tick.
+     */
+    protected void updateActiveChunks() {
+        int newMinColumn = Math.max(0, platformGrid.columnOf(camera.getX()) - 1);
+        int newMinRow = Math.max(0, platformGrid.rowOf(camera.getY()) - 1);
+        int newMaxColumn = Math.min(platformGrid.getColumns() - 1,
+                platformGrid.columnOf(camera.getX() + camera.getViewWidth()) + 1);
+        int newMaxRow = Math.min(platformGrid.getRows() - 1,
+                platformGrid.rowOf(camera.getY() + camera.getViewHeight()) + 1);
+        if (newMinColumn == minColumn && newMinRow == minRow
+                && newMaxColumn == maxColumn && newMaxRow == maxRow) {
+            return;
+        }
+        this.minColumn = newMinColumn;
+        this.minRow = newMinRow;
+        this.maxColumn = newMaxColumn;
+        this.maxRow = newMaxRow;
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                int chunk = platformGrid.chunkAt(column, row);
+                if (!isChunkLoaded[chunk]) {
+                    isChunkLoaded[chunk] = true;
+                    loadChunk(chunk);
                 }
             }
-        } else {
-            this.platforms = new Platform[0]; // No platform data
         }
+        activePlatforms.clear();
+        platformGrid.collect(minColumn, minRow, maxColumn, maxRow, activePlatforms);
+        ladders.clear();
+        ladderGrid.collect(minColumn, minRow, maxColumn, maxRow, ladders);
+        barrels.clear();
+        barrelGrid.collect(minColumn, minRow, maxColumn, maxRow, barrels);
+        hammers.clear();
+        hammerGrid.collect(minColumn, minRow, maxColumn, maxRow, hammers);
+        hammerPhase.build(hammers);
+        activateChunksExtra(minColumn, minRow, maxColumn, maxRow);
+    }
+
+    /**
+     * Keeps the moved entities of the active chunks in the chunk they are in now. When one of them moved
+     * into a frozen chunk, the active entities are gathered again, so it is frozen from the next tick on.
+     * @param grid chunk grid of the entities
+     * @param active entities of the active chunks
+     * @param <T> type of the entities
+     */
+    <T extends GameEntity> void rebucketActive(ChunkGrid<T> grid, List<T> active) {
+        if (grid.rebucket(active, minColumn, minRow, maxColumn, maxRow)) {
+            active.clear();
+            grid.collect(minColumn, minRow, maxColumn, maxRow, active);
+        }
+    }
+
+    /**
+     * Restarts the level in place: every entity spawned so far is put back in the state it was
+     * constructed in and the counters start over, as if the level was built again,
+     * without reloading or allocating anything.
+     * @param startedScore initial score of game
+     */
+    public void reset(int startedScore) {
+        this.startedScore = startedScore;
+        this.currFrame = 0;
+        this.donkeyHP = DONKEY_HP;
+        this.isGameOver = false;
+        mario.reset();
+        donkey.reset();
+        ladderGrid.reset();
+        barrelGrid.reset();
+        hammerGrid.reset();
+        resetExtra();
+        camera.follow(mario);
+        camera.savePosition();
+        // gather the active chunks again, around the camera back at the start
+        this.minColumn = -1;
+        updateActiveChunks();
+    }
+
+    /**
+     * Spawns the entities of the level data starting in a chunk.
+     * @param chunk chunk number
+     */
+    private void loadChunk(int chunk) {
+        loadLadders(chunk);
+        loadBarrels(chunk);
+        loadHammers(chunk);
+        loadChunkExtra(chunk);
+    }
+
+    private void loadLadders(int chunk) {
+        double[] ladderCoords = levelData.getLadders();
+        for (int i : ladderSpawns[chunk]) {
+            ladderGrid.add(new Ladder(ladderCoords[2 * i], ladderCoords[2 * i + 1]));
+        }
+    }
+
+    private void loadBarrels(int chunk) {
+        double[] barrelCoords = levelData.getBarrels();
+        for (int i : barrelSpawns[chunk]) {
+            barrelGrid.add(new Barrel(barrelCoords[2 * i], barrelCoords[2 * i + 1]));
+        }
+    }
 
-        // Load barrels
-        this.barrels = loadEntities(GAME_PROPS, "barrel", currLevel, new EntityFactory<Barrel>() {
-            @Override
-            public Barrel create(String[] parts) {
-                String[] coords = parts[0].split(",");
-                return new Barrel(Double.parseDouble(coords[0]), Double.parseDouble(coords[1]));
+    private void loadHammers(int chunk) {
+        double[] hammerCoords = levelData.getHammers();
+        for (int i : hammerSpawns[chunk]) {
+            hammerGrid.add(new Hammer(hammerCoords[2 * i], hammerCoords[2 * i + 1]));
+        }
+    }
+
+    /**
+     * check if the entities of a chunk are spawned
+     * @param chunk chunk number
+     * @return true once the chunk has come near the camera
+     */
+    boolean isChunkLoaded(int chunk) {
+        return isChunkLoaded[chunk];
+    }
+
+    /**
+     * Applies edits of the level layout in the properties file to the running level. Only the entity
+     * kinds whose keys changed are parsed again, and only those kinds are created again, with their
+     * chunk grids and indexes; the others keep their state. Levels loaded from a compiled level file
+     * are not affected.
+     * @param changedKeys keys changed in the properties file of this level, already holding the new values
+     */
+    public void reload(Set<String> changedKeys) {
+        if (!GAME_PROPS.getProperty("levelFile.level" + currLevel, "").isEmpty()) {
+            return;
+        }
+        LevelData oldData = levelData;
+        this.levelData = oldData.reparse(GAME_PROPS, changedKeys);
+        // an entity kind was parsed again iff its array is a new one
+        if (levelData.getMario() != oldData.getMario()) {
+            mario.release();
+            double[] marioCoord = levelData.getMario();
+            this.mario = new Mario(marioCoord[0], marioCoord[1], session);
+            camera.follow(mario);
+            camera.savePosition();
+        }
+        if (levelData.getDonkey() != oldData.getDonkey()) {
+            donkey.release();
+            double[] donkeyCoord = levelData.getDonkey();
+            this.donkey = new Donkey(donkeyCoord[0], donkeyCoord[1]);
+        }
+        if (levelData.getLadders() != oldData.getLadders()) {
+            for (Ladder ladder : ladderGrid.getAll()) {
+                ladder.release();
+            }
+            this.ladderGrid = createChunkGrid();
+            this.ladderSpawns = ladderGrid.bucket(levelData.getLadders());
+            for (int chunk = 0; chunk < isChunkLoaded.length; chunk++) {
+                if (isChunkLoaded[chunk]) {
+                    loadLadders(chunk);
+                }
+            }
+        }
+        if (levelData.getBarrels() != oldData.getBarrels()) {
+            for (Barrel barrel : barrelGrid.getAll()) {
+                barrel.release();
+            }
+            this.barrelGrid = createChunkGrid();
+            this.barrelSpawns = barrelGrid.bucket(levelData.getBarrels());
+            for (int chunk = 0; chunk < isChunkLoaded.length; chunk++) {
+                if (isChunkLoaded[chunk]) {
+                    loadBarrels(chunk);
+                }
+            }
+        }
+        if (levelData.getHammers() != oldData.getHammers()) {
+            for (Hammer hammer : hammerGrid.getAll()) {
+                hammer.release();
             }
-        }).toArray(new Barrel[0]);
-
-        // Load ladders
-        this.ladders = loadEntities(GAME_PROPS, "ladder", currLevel, new EntityFactory<Ladder>() {
-            @Override
-            public Ladder create(String[] parts) {
-                String[] coords = parts[0].split(",");
-                return new Ladder(Double.parseDouble(coords[0]), Double.parseDouble(coords[1]));
+            this.hammerGrid = createChunkGrid();
+            this.hammerSpawns = hammerGrid.bucket(levelData.getHammers());
+            for (int chunk = 0; chunk < isChunkLoaded.length; chunk++) {
+                if (isChunkLoaded[chunk]) {
+                    loadHammers(chunk);
+                }
             }
-        }).toArray(new Ladder[0]);
-
-        // Load hammers
-        this.hammers = loadEntities(GAME_PROPS, "hammer", currLevel, new EntityFactory<Hammer>() {
-            @Override
-            public Hammer create(String[] parts) {
-                String[] coords = parts[0].split(",");
-                return new Hammer(Double.parseDouble(coords[0]), Double.parseDouble(coords[1]));
+        }
+        reloadExtra(oldData);
+        if (levelData.getPlatforms() != oldData.getPlatforms()) {
+            for (Platform platform : platforms) {
+                platform.release();
             }
-        }).toArray(new Hammer[0]);
+            createPlatforms();
+            // bodies resting on a moved or removed platform fall again
+            wakeAll();
+        }
+        // gather the active chunks again, from the new grids
+        this.minColumn = -1;
+        updateActiveChunks();
+    }
+
+    /**
+     * get the part of the world shown in the window
+     * @return the camera
+     */
+    public Camera getCamera() {
+        return camera;
     }
 
     /**
@@ -223,30 +557,37 @@ public abstract class GamePlayScreen {
     }
 
     /**
-     * Updates game state each frame.
+     * Updates game state and draws the game each frame.
      *
      * @param input The current player input.
      * @return {@code true} if the game ends, {@code false} otherwise.
      */
-    public boolean update(Input input) {
-        currFrame++;
-        // Draw background
-        background.drawFromTopLeft(0, 0);
+    public boolean update(GameInput input) {
+        boolean isEnded = tick(input);
+        render();
+        return isEnded;
+    }
 
-        // Draw and update platforms
-        for (Platform platform : platforms) {
-            if (platform != null) {
-                platform.draw();
-            }
-        }
+    /**
+     * Advances the game state by one frame without drawing anything,
+     * so the game can also be stepped headlessly.
+     *
+     * @param input The current player input.
+     * @return {@code true} if the game ends, {@code false} otherwise.
+     */
+    public boolean tick(GameInput input) {
+        currFrame++;
+        updateActiveChunks();
+        savePositions();
+        profiler.lap(chunksPhase);
         // Update ladders
-        for (Ladder ladder : ladders) {
-            if (ladder != null) {
-                ladder.update(platforms);
-            }
-        }
-        // Update barrels
-        for (Barrel barrel : barrels) {
+        ladderGravity.apply(ladders, platformIndex);
+        profiler.lap(laddersPhase);
+        // Check barrels near mario, that he touches or may jump over
+        barrelPhase.build(barrels);
+        int nearBarrels = barrelPhase.query(mario.getLeft(), mario.getTop(), mario.getRight(), mario.getJumpOverLimit());
+        for (int i = 0; i < nearBarrels; i++) {
+            Barrel barrel = barrelPhase.getCandidate(i);
             if (barrel == null) continue;
             // gain mark for jump over barrel
             if (mario.jumpOver(barrel)) {
@@ -261,52 +602,155 @@ public abstract class GamePlayScreen {
                     startedScore += BARREL_SCORE;
                 }
             }
-            barrel.update(platforms);
         }
+        // Update barrels
+        barrelGravity.apply(barrels, platformIndex);
+        profiler.lap(barrelsPhase);
         // Check game time and donkey status
         if (checkingGameTime()) {
             isGameOver = true;
         }
-        donkey.update(platforms);
-        // draw hammers
-        for (Hammer hammer: hammers){
-            hammer.draw();
-        }
-        // draw and update donkey
-        donkey.draw();
-        donkey.update(platforms);
+        donkey.update(platformIndex);
+        profiler.lap(donkeyPhase);
         // update blasters for level2 only
         if (currLevel == LEVEL2 && this instanceof Level2){
-            blasters = ((Level2) this).getBlasters();
+            blasters = ((Level2) this).getBlasterPhase();
         }
         else{
             blasters = null;
         }
         // Update Mario
-        mario.update(input, ladders, platforms, hammers, blasters);
+        mario.update(input, ladders, platformIndex, hammerPhase, blasters);
+        // a collected hammer leaves play until the level restarts
+        if (hammerGrid.despawn(hammers, Weapon::isCollected) > 0) {
+            hammerPhase.build(hammers);
+        }
         // Check if Mario reaches Donkey
         if (mario.isCollide(donkey) && !mario.holdHammer()) {
             isGameOver = true;
         }
-        // Display shared status info
-        displayInfo();
+        profiler.lap(marioPhase);
         // Update extra entity for level2 only
         updateExtra(input);
+        // keep the moved entities in the chunk they are in now, and scroll to mario
+        rebucketActive(ladderGrid, ladders);
+        rebucketActive(barrelGrid, barrels);
+        camera.follow(mario);
+        profiler.lap(cameraPhase);
         // Return game state
         return isGameOver || isLevelCompleted();
     }
 
     /**
-     * Displays the player's startedScore & time left on the screen.
+     * Draws the current game state, does not change it.
+     */
+    public void render() {
+        render(1);
+    }
+
+    /**
+     * Draws the game state between the previous tick and the current one, does not change it.
+     *
+     * @param alpha interpolation factor from 0 (previous tick) to 1 (current tick).
+     */
+    public void render(double alpha) {
+        // the world is drawn shifted by the camera, the background and status info stay in place
+        double offsetX = camera.getX(alpha);
+        double offsetY = camera.getY(alpha);
+        // Draw background
+        background.drawFromTopLeft(0, 0);
+        // Draw platforms
+        for (Platform platform : activePlatforms) {
+            platform.draw(1, offsetX, offsetY);
+        }
+        // Draw ladders
+        for (Ladder ladder : ladders) {
+            ladder.draw(alpha, offsetX, offsetY);
+        }
+        // Draw barrels
+        for (Barrel barrel : barrels) {
+            barrel.draw(alpha, offsetX, offsetY);
+        }
+        // draw hammers
+        for (Hammer hammer: hammers){
+            hammer.draw(1, offsetX, offsetY);
+        }
+        // draw donkey and mario
+        donkey.draw(alpha, offsetX, offsetY);
+        mario.draw(alpha, offsetX, offsetY);
+        profiler.lap(renderPhase);
+        // Display shared status info
+        displayInfo();
+        profiler.lap(hudPhase);
+        // Draw extra entity for level2 only
+        renderExtra(alpha, offsetX, offsetY);
+        profiler.lap(renderExtraPhase);
+    }
+
+    /**
+     * Remembers the position of every moving entity before a tick moves them, for render interpolation.
+     */
+    private void savePositions() {
+        for (Ladder ladder : ladders) {
+            ladder.savePosition();
+        }
+        for (Barrel barrel : barrels) {
+            barrel.savePosition();
+        }
+        camera.savePosition();
+        donkey.savePosition();
+        mario.savePosition();
+        savePositionsExtra();
+    }
+
+    /**
+     * Wakes every sleeping entity resting on a platform, needed whenever platforms change,
+     * including the ones of the frozen chunks.
+     */
+    public void wakeAll() {
+        for (Ladder ladder : ladderGrid.getAll()) {
+            ladder.wake();
+        }
+        for (Barrel barrel : barrelGrid.getAll()) {
+            barrel.wake();
+        }
+        donkey.wake();
+    }
+
+    /**
+     * Releases the sprites of every game object once this screen is discarded,
+     * unused images can then be evicted from the sprite registry.
+     */
+    public void release() {
+        SpriteRegistry.release(background);
+        mario.release();
+        donkey.release();
+        for (Platform platform : platforms) {
+            if (platform != null) {
+                platform.release();
+            }
+        }
+        for (Ladder ladder : ladderGrid.getAll()) {
+            ladder.release();
+        }
+        for (Barrel barrel : barrelGrid.getAll()) {
+            barrel.release();
+        }
+        for (Hammer hammer : hammerGrid.getAll()) {
+            hammer.release();
+        }
+        releaseExtra();
+    }
+
+    /**
+     * Displays the player's startedScore & time left on the screen,
+     * the text of each line is only rebuilt when its value changes.
      */
     public void displayInfo() {
-        STATUS_FONT.drawString(SCORE_MESSAGE + startedScore, SCORE_X, SCORE_Y);
+        SCORE_TEXT.draw(startedScore);
         // Time left in seconds
-        int secondsLeft = (MAX_FRAMES - currFrame) / 60;
-        int TIME_X = SCORE_X;
-        int TIME_Y = SCORE_Y + TIME_DISPLAY_DIFF_Y;
-        STATUS_FONT.drawString(TIME_MESSAGE + secondsLeft, TIME_X, TIME_Y);
-        STATUS_FONT.drawString(DKH_MESSAGE + donkeyHP, DKH_X, DKH_Y);
+        TIME_TEXT.draw(getSecondsLeft());
+        DKH_TEXT.draw(donkeyHP);
         // display bullet info for level2
         displayBullet(STATUS_FONT, DKH_X, DKH_Y);
     }
@@ -336,10 +780,61 @@ public abstract class GamePlayScreen {
     }
 
     /**
-     * abstract method to update extra game elements for level 2
+     * abstract method to update extra game elements for level 2, without drawing them
      * @param input input from keyboard
      */
-    public abstract void updateExtra(Input input);
+    public abstract void updateExtra(GameInput input);
+
+    /**
+     * abstract method to draw extra game elements for level 2
+     * @param alpha interpolation factor from 0 (previous tick) to 1 (current tick)
+     * @param offsetX left edge of the camera view in the world
+     * @param offsetY top edge of the camera view in the world
+     */
+    public abstract void renderExtra(double alpha, double offsetX, double offsetY);
+
+    /**
+     * abstract method to spawn extra game elements for level 2 starting in a newly loaded chunk
+     * @param chunk chunk number
+     */
+    public abstract void loadChunkExtra(int chunk);
+
+    /**
+     * abstract method to make the extra game elements of the active chunks the updated ones for level 2
+     * @param minColumn first column of the active chunks
+     * @param minRow first row of the active chunks
+     * @param maxColumn last column of the active chunks, inclusive
+     * @param maxRow last row of the active chunks, inclusive
+     */
+    public abstract void activateChunksExtra(int minColumn, int minRow, int maxColumn, int maxRow);
+
+    /**
+     * abstract method to remember the position of extra moving game elements for level 2 before a tick
+     */
+    public abstract void savePositionsExtra();
+
+    /**
+     * abstract method to register the profiler phases of the extra game logic for level 2,
+     * timed within updateExtra
+     * @param profiler frame profiler
+     */
+    public abstract void registerPhasesExtra(FrameProfiler profiler);
+
+    /**
+     * abstract method to restart extra game elements for level 2 in place
+     */
+    public abstract void resetExtra();
+
+    /**
+     * abstract method to create again the extra game elements for level 2 whose layout changed
+     * @param oldData layout of the level before the change, {@link #getLevelData()} is the new one
+     */
+    public abstract void reloadExtra(LevelData oldData);
+
+    /**
+     * abstract method to release sprites of extra game elements for level 2
+     */
+    public abstract void releaseExtra();
 
     /**
      * abstract method to display bullet info for level 2
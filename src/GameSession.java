@@ -0,0 +1,105 @@
+import java.util.Properties;
+
+/**
+ * The context of one game session, shared by the entities of its levels instead of global state,
+ * so several sessions can run at the same time in one process.
+ */
+public class GameSession {
+    private final double screenWidth; // width of the game window, the size of the camera view
+    private final double screenHeight; // height of the game window, the size of the camera view
+    private final double worldWidth; // width of the level, the horizontal bound of the world
+    private final double worldHeight; // height of the level, the bottom bound of the world
+
+    /**
+     * Constructs a session whose world is the size of the screen
+     * @param screenWidth screen width in px
+     * @param screenHeight screen height in px
+     */
+    public GameSession(double screenWidth, double screenHeight) {
+        this(screenWidth, screenHeight, screenWidth, screenHeight);
+    }
+
+    /**
+     * Constructs a session with a world larger than the screen, scrolled by the camera
+     * @param screenWidth screen width in px
+     * @param screenHeight screen height in px
+     * @param worldWidth world width in px, at least the screen width
+     * @param worldHeight world height in px, at least the screen height
+     */
+    public GameSession(double screenWidth, double screenHeight, double worldWidth, double worldHeight) {
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.worldWidth = Math.max(screenWidth, worldWidth);
+        this.worldHeight = Math.max(screenHeight, worldHeight);
+    }
+
+    /**
+     * Constructs a session with the window size of the properties file
+     * @param gameProps property file with game setting
+     */
+    public GameSession(Properties gameProps) {
+        this(Integer.parseInt(gameProps.getProperty("window.width")),
+                Integer.parseInt(gameProps.getProperty("window.height")));
+    }
+
+    /**
+     * Constructs a session for a level, with the world size set as "world.levelN=width,height"
+     * in the properties file; a level without it is the size of the window
+     * @param gameProps property file with game setting
+     * @param level level number
+     */
+    public GameSession(Properties gameProps, int level) {
+        this(Integer.parseInt(gameProps.getProperty("window.width")),
+                Integer.parseInt(gameProps.getProperty("window.height")),
+                worldSize(gameProps, level, 0, "window.width"),
+                worldSize(gameProps, level, 1, "window.height"));
+    }
+
+    /**
+     * read one dimension of the world size of a level
+     * @param gameProps property file with game setting
+     * @param level level number
+     * @param index 0 for the width, 1 for the height
+     * @param windowKey key of the window size used when the world size is not set
+     * @return size in px
+     */
+    private static double worldSize(Properties gameProps, int level, int index, String windowKey) {
+        String world = gameProps.getProperty("world.level" + level, "").trim();
+        if (world.isEmpty()) {
+            return Integer.parseInt(gameProps.getProperty(windowKey));
+        }
+        return Integer.parseInt(world.split(",")[index].trim());
+    }
+
+    /**
+     * Retrieves the width of the game screen.
+     * @return The width of the screen in pixels.
+     */
+    public double getScreenWidth() {
+        return screenWidth;
+    }
+
+    /**
+     * Retrieves the height of the game screen.
+     * @return The height of the screen in pixels.
+     */
+    public double getScreenHeight() {
+        return screenHeight;
+    }
+
+    /**
+     * Retrieves the width of the world, which entities cannot leave.
+     * @return The width of the world in pixels.
+     */
+    public double getWorldWidth() {
+        return worldWidth;
+    }
+
+    /**
+     * Retrieves the height of the world, which entities cannot fall out of.
+     * @return The height of the world in pixels.
+     */
+    public double getWorldHeight() {
+        return worldHeight;
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies gravity to all falling bodies of one kind at once. The velocity and y-coordinate
+ * of every falling body are copied into primitive arrays, integrated in one pass by a
+ * GravityKernel, copied back, and then each body lands on the platforms on its own.
+ * Bodies never affect each other while falling, so this matches updating them one by one.
+ * @param <T> type of the bodies
+ */
+public class GravityBatch<T extends GameEntity & FallingBody> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final GravityKernel kernel;
+    private final double gravity;
+    private final double terminalVelocity;
+    private final boolean isClampedBeforeMove; // order of clamping and moving of the per-object code
+
+    private final List<T> falling = new ArrayList<>(); // bodies integrated this frame, reused
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] velocityY = new double[INITIAL_CAPACITY];
+    private double[] fromY = new double[INITIAL_CAPACITY]; // y before integrating, where landing is swept from
+
+    /**
+     * @param kernel kernel integrating the arrays
+     * @param gravity gravity of this kind of body, one of the PhysicsAffected constants
+     * @param terminalVelocity terminal velocity of this kind of body
+     * @param isClampedBeforeMove true if the body moves by the limited velocity, as the per-object code does
+     */
+    public GravityBatch(GravityKernel kernel, double gravity, double terminalVelocity, boolean isClampedBeforeMove) {
+        this.kernel = kernel;
+        this.gravity = gravity;
+        this.terminalVelocity = terminalVelocity;
+        this.isClampedBeforeMove = isClampedBeforeMove;
+    }
+
+    /**
+     * apply gravity to every falling body and let it land, bodies that are not falling are skipped
+     * @param bodies all bodies of this kind
+     * @param platforms The index of platforms for collision detection.
+     */
+    public void apply(List<? extends T> bodies, PlatformIndex platforms) {
+        falling.clear();
+        for (T body : bodies) {
+            if (body.isFalling()) {
+                falling.add(body);
+            }
+        }
+        integrate(platforms);
+    }
+
+    private void integrate(PlatformIndex platforms) {
+        int count = falling.size();
+        if (count > y.length) {
+            int capacity = Math.max(count, y.length * 2);
+            y = new double[capacity];
+            velocityY = new double[capacity];
+            fromY = new double[capacity];
+        }
+        for (int i = 0; i < count; i++) {
+            T body = falling.get(i);
+            y[i] = body.y;
+            velocityY[i] = body.getVelocityY();
+        }
+        System.arraycopy(y, 0, fromY, 0, count);
+        kernel.integrate(y, velocityY, count, gravity, terminalVelocity, isClampedBeforeMove);
+        for (int i = 0; i < count; i++) {
+            T body = falling.get(i);
+            body.y = y[i];
+            body.setVelocityY(velocityY[i]);
+            body.land(platforms, fromY[i]);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * an interface for integrating gravity over many bodies stored in primitive arrays,
+ * every kernel gives bit-identical results to the per-object code it replaces
+ */
+public interface GravityKernel {
+    /** plain loop the JIT can auto-vectorize */
+    String SCALAR = "scalar";
+    /** explicit SIMD through the incubator Vector API, needs the vector build profile */
+    String VECTOR = "vector";
+
+    /**
+     * add gravity to the velocity of every body, limit it to the terminal velocity and move the body by it
+     * @param y y-coordinates of the bodies, updated in place
+     * @param velocityY vertical velocities of the bodies, updated in place
+     * @param count number of bodies, from the start of the arrays
+     * @param gravity gravity added to the velocity every frame
+     * @param terminalVelocity maximum falling velocity
+     * @param isClampedBeforeMove true if the velocity is limited before the body moves,
+     *                            false if the body moves by the unlimited velocity first
+     */
+    void integrate(double[] y, double[] velocityY, int count,
+                   double gravity, double terminalVelocity, boolean isClampedBeforeMove);
+
+    /**
+     * create a kernel by its name in the properties file, the vector kernel falls back
+     * to the scalar one when it was not compiled in or the Vector API module is missing
+     * @param type "scalar" or "vector"
+     * @return a new kernel of the given type
+     */
+    static GravityKernel create(String type) {
+        switch (type) {
+            case SCALAR:
+                return new ScalarGravityKernel();
+            case VECTOR:
+                try {
+                    return (GravityKernel) Class.forName("VectorGravityKernel").getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    System.out.println("Vector API kernel unavailable, using the scalar one: " + e);
+                    return new ScalarGravityKernel();
+                }
+            default:
+                throw new IllegalArgumentException("Unknown gravity kernel: " + type);
+        }
+    }
+}
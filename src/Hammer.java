@@ -2,7 +2,7 @@
  * Represents a Hammer weapon can be collected up and used by Mario.
  */
 public class Hammer extends Weapon {
-    private final static String HAMMER_IMAGE = "res/hammer.png";
+    final static String HAMMER_IMAGE = "res/hammer.png";
 
     /**
      * Constructs a Hammer weapon at the specified starting position.
@@ -0,0 +1,133 @@
+import bagel.Keys;
+
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Runs a level of the game without a window or GL context.
+ * The level is stepped with a synthetic input source as fast as the CPU allows,
+ * used for soak tests, AI runs and benchmarks on machines without a GPU.
+ */
+public class HeadlessSimulation {
+    // keys held by the random input of main
+    private static final Keys[] DIRECTIONS = {Keys.LEFT, Keys.RIGHT, Keys.UP, Keys.DOWN};
+
+    private final GamePlayScreen level; // the level being simulated
+    private int frameCount = 0; // number of frames stepped so far
+    private boolean isEnded = false; // whether the level has ended
+
+    /**
+     * Constructs a headless simulation of the given level
+     * @param gameProps property file with game setting
+     * @param currLevel level number to simulate, 1 or 2
+     * @param startedScore initial score of game
+     */
+    public HeadlessSimulation(Properties gameProps, int currLevel, int startedScore) {
+        Sprite.setHeadless(true);
+        this.level = (currLevel == 2) ? new Level2(gameProps, currLevel, startedScore) :
+                new Level1(gameProps, currLevel, startedScore);
+    }
+
+    /**
+     * Advances the level by one frame, does nothing once the level has ended
+     * @param input input for this frame
+     * @return true if the level has ended; false otherwise
+     */
+    public boolean step(GameInput input) {
+        if (!isEnded) {
+            isEnded = level.tick(input);
+            frameCount++;
+        }
+        return isEnded;
+    }
+
+    /**
+     * Restarts the level in place, without building it again
+     * @param startedScore initial score of game
+     */
+    public void reset(int startedScore) {
+        level.reset(startedScore);
+        frameCount = 0;
+        isEnded = false;
+    }
+
+    /**
+     * get the simulated level
+     * @return the simulated level
+     */
+    public GamePlayScreen getLevel() {
+        return level;
+    }
+
+    /**
+     * get number of frames stepped so far
+     * @return number of frames stepped
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * check if the level has ended
+     * @return true: ended by win or loss; false: still playing
+     */
+    public boolean isEnded() {
+        return isEnded;
+    }
+
+    /**
+     * Steps levels headlessly with random input and reports the simulation speed.
+     * Usage: HeadlessSimulation [level] [frames] [seed]
+     * @param args level number (default 1), total frames (default 1000000), random seed (default 0)
+     */
+    public static void main(String[] args) {
+        int currLevel = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int totalFrames = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        Random random = new Random(seed);
+        ScriptedInput input = new ScriptedInput();
+
+        int sessions = 0;
+        int wins = 0;
+        int frames = 0;
+        long start = System.nanoTime();
+        while (frames < totalFrames) {
+            // start a new session whenever the previous one ended
+            HeadlessSimulation simulation = new HeadlessSimulation(gameProps, currLevel, 0);
+            sessions++;
+            while (frames < totalFrames && !simulation.isEnded()) {
+                simulation.step(input);
+                frames++;
+                input.endFrame();
+                randomInput(random, input);
+            }
+            if (simulation.isEnded() && simulation.getLevel().isLevelCompleted()) {
+                wins++;
+            }
+            // sprites stay in the registry, so the next session loads no images
+            simulation.getLevel().release();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("level %d: %d frames, %d sessions, %d wins in %.3f s (%.0f frames/s)%n",
+                currLevel, frames, sessions, wins, seconds, frames / seconds);
+    }
+
+    /**
+     * change the held keys at random, a new direction is chosen about every second
+     * @param random random source of the session
+     * @param input input to change
+     */
+    static void randomInput(Random random, ScriptedInput input) {
+        if (random.nextInt(60) == 0) {
+            input.releaseAll();
+            input.hold(DIRECTIONS[random.nextInt(DIRECTIONS.length)]);
+        }
+        if (random.nextInt(30) == 0) {
+            input.press(Keys.SPACE);
+        }
+        if (random.nextInt(30) == 0) {
+            input.press(Keys.S);
+        }
+    }
+}
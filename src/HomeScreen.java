@@ -7,7 +7,7 @@ import java.util.Properties;
  */
 public class HomeScreen {
 
-    private final Image BACKGROUND_IMAGE;  // Background image for the home screen
+    private final Sprite BACKGROUND_IMAGE;  // Background image for the home screen
     private final String TITLE;            // Title text displayed at the top
     private final String PROMPT;           // Instruction prompt (e.g., "PRESS ENTER TO START")
 
@@ -30,7 +30,7 @@ public class HomeScreen {
      */
     public HomeScreen(Properties gameProps, Properties msgProps) {
         // Load the background image from properties
-        BACKGROUND_IMAGE = new Image(gameProps.getProperty("backgroundImage"));
+        BACKGROUND_IMAGE = SpriteRegistry.acquire(gameProps.getProperty("backgroundImage"));
 
         // Load title and prompt text from properties
         TITLE = msgProps.getProperty("home.title");
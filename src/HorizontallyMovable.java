@@ -1,6 +1,7 @@
 /**
  * an interface be implemented to all game entities able to be move
  * horizontally, prevent them go out of screen and provide their speed value
+ * in pixels per tick (GamePlayScreen.TICKS_PER_SECOND ticks per second)
  */
 public interface HorizontallyMovable {
     double MARIO_MOVE_SPEED = 3.5;
@@ -0,0 +1,40 @@
+import bagel.Font;
+
+/**
+ * A line of status info made of a fixed label and a number, drawn at a fixed place on the screen.
+ * The text is only rebuilt when the number changes, not every frame.
+ */
+public class HudText {
+    private final Font font; // font for the text
+    private final String label; // text before the number
+    private final double x; // x-coordinate of the text
+    private final double y; // y-coordinate of the text
+    private int value; // number shown by the cached text
+    private String text = null; // label followed by the number, null until first drawn
+
+    /**
+     * Constructs a line of status info
+     * @param font font for the text
+     * @param label text before the number
+     * @param x x-coordinate of the text
+     * @param y y-coordinate of the text
+     */
+    public HudText(Font font, String label, double x, double y) {
+        this.font = font;
+        this.label = label;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * draw the label followed by the number, rebuilding the text only if the number changed
+     * @param value number to show
+     */
+    public void draw(int value) {
+        if (text == null || value != this.value) {
+            this.value = value;
+            this.text = label + value;
+        }
+        font.drawString(text, x, y);
+    }
+}
@@ -1,5 +1,9 @@
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.Properties;
 
 /**
@@ -23,4 +27,32 @@ public class IOUtils {
         return appProps;
     }
 
+    /***
+     * Read the width and height of an image from its header, without decoding it
+     * @param imagePath: the path to the image file
+     * @return: int array of {width, height} in px
+     */
+    public static int[] readImageSize(String imagePath) {
+        int[] size = new int[2];
+        try (ImageInputStream in = ImageIO.createImageInputStream(new File(imagePath))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format: " + imagePath);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                size[0] = reader.getWidth(0);
+                size[1] = reader.getHeight(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch(IOException ex) {
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+
+        return size;
+    }
+
 }
@@ -0,0 +1,173 @@
+import bagel.Keys;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Records the input consumed by every gameplay tick into a compact binary log, replayed by InputReplay.
+ * The log starts with a header, then each level adds a level marker, its number and started score,
+ * followed by one 16-bit mask per tick: bit k is set if KEYS[k] is held, bit k + 6 if it was pressed.
+ */
+public class InputRecorder implements GameInput {
+    /** keys read by the gameplay, in the order of their bits in a tick mask */
+    public static final Keys[] KEYS = {Keys.LEFT, Keys.RIGHT, Keys.UP, Keys.DOWN, Keys.SPACE, Keys.S};
+    /** first int of a log */
+    public static final int MAGIC = 0x444B5250; // "DKRP"
+    /** version of the log format, second int of a log */
+    public static final int VERSION = 1;
+    /** a short that starts a level instead of being a tick mask, masks use 12 bits only */
+    public static final short LEVEL_MARKER = -1;
+
+    private static final int PRESSED_SHIFT = KEYS.length; // pressed bits come after the held bits
+    private static final int FLUSH_TICKS = 60; // write the log out about every second of play
+
+    private DataOutputStream out; // null once recording failed or was closed
+    private int mask; // input of the current tick
+    private int tickCount = 0;
+
+    /**
+     * start recording into a new log file
+     * @param path path of the log file, overwritten if it exists
+     */
+    public InputRecorder(String path) {
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * encode the state of the recorded keys
+     * @param input input of the current tick
+     * @return mask of held and pressed keys
+     */
+    public static int encode(GameInput input) {
+        int mask = 0;
+        for (int k = 0; k < KEYS.length; k++) {
+            if (input.isDown(KEYS[k])) {
+                mask |= 1 << k;
+            }
+            if (input.wasPressed(KEYS[k])) {
+                mask |= 1 << (k + PRESSED_SHIFT);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * check if a key is held in a tick mask
+     * @param mask tick mask
+     * @param key the key to check
+     * @return true if held; false if not held or not recorded
+     */
+    public static boolean isDown(int mask, Keys key) {
+        int k = indexOf(key);
+        return k >= 0 && (mask & (1 << k)) != 0;
+    }
+
+    /**
+     * check if a key was pressed in a tick mask
+     * @param mask tick mask
+     * @param key the key to check
+     * @return true if pressed; false if not pressed or not recorded
+     */
+    public static boolean wasPressed(int mask, Keys key) {
+        int k = indexOf(key);
+        return k >= 0 && (mask & (1 << (k + PRESSED_SHIFT))) != 0;
+    }
+
+    private static int indexOf(Keys key) {
+        for (int k = 0; k < KEYS.length; k++) {
+            if (KEYS[k] == key) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * mark the start of a level in the log, and write out the log so far
+     * @param currLevel level number
+     * @param startedScore initial score of the level
+     */
+    public void startLevel(int currLevel, int startedScore) {
+        if (out == null) return;
+        try {
+            out.writeShort(LEVEL_MARKER);
+            out.writeInt(currLevel);
+            out.writeInt(startedScore);
+            out.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * record the input of the next tick, the tick must read it through the returned input
+     * so it sees exactly what was recorded
+     * @param input input of the current tick
+     * @return this recorder, holding the recorded input
+     */
+    public GameInput record(GameInput input) {
+        mask = encode(input);
+        if (out != null) {
+            try {
+                out.writeShort(mask);
+                if (++tickCount % FLUSH_TICKS == 0) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * write out the log so far, call when a level ends
+     */
+    public void flush() {
+        if (out == null) return;
+        try {
+            out.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * write out the rest of the log and close it
+     */
+    public void close() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        out = null;
+    }
+
+    /**
+     * stop recording after an error, the game goes on without it
+     */
+    private void fail(IOException e) {
+        e.printStackTrace();
+        out = null;
+    }
+
+    @Override
+    public boolean isDown(Keys key) {
+        return isDown(mask, key);
+    }
+
+    @Override
+    public boolean wasPressed(Keys key) {
+        return wasPressed(mask, key);
+    }
+}
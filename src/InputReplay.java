@@ -0,0 +1,98 @@
+import bagel.Keys;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Replays an input log written by InputRecorder through the levels headlessly, as fast as the CPU allows.
+ * The game has no randomness, so the same log and properties always reach the same final state.
+ */
+public class InputReplay implements GameInput {
+    private final ByteBuffer log; // whole log, read once
+    private int mask; // input of the current tick
+    private HeadlessSimulation simulation; // level being replayed
+    private int tickCount = 0; // ticks replayed over all levels
+
+    /**
+     * read an input log
+     * @param path path of the log file
+     * @throws IOException if the file cannot be read or is not an input log
+     */
+    public InputReplay(String path) throws IOException {
+        this.log = ByteBuffer.wrap(Files.readAllBytes(Paths.get(path)));
+        if (log.remaining() < 2 * Integer.BYTES || log.getInt() != InputRecorder.MAGIC) {
+            throw new IOException("Not an input log: " + path);
+        }
+        int version = log.getInt();
+        if (version != InputRecorder.VERSION) {
+            throw new IOException("Unsupported input log version " + version + ": " + path);
+        }
+    }
+
+    /**
+     * replay the whole log, each level starts with the score recorded for it
+     * @param gameProps property file with game setting, the one used when recording
+     * @return simulation of the last level replayed, null if the log has no level
+     */
+    public HeadlessSimulation replay(Properties gameProps) {
+        while (log.remaining() >= Short.BYTES) {
+            short next = log.getShort();
+            if (next == InputRecorder.LEVEL_MARKER) {
+                if (simulation != null) {
+                    simulation.getLevel().release();
+                }
+                int currLevel = log.getInt();
+                int startedScore = log.getInt();
+                simulation = new HeadlessSimulation(gameProps, currLevel, startedScore);
+            } else if (simulation != null) {
+                mask = next;
+                simulation.step(this);
+                tickCount++;
+            }
+        }
+        return simulation;
+    }
+
+    /**
+     * get number of ticks replayed over all levels
+     * @return number of ticks replayed
+     */
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    @Override
+    public boolean isDown(Keys key) {
+        return InputRecorder.isDown(mask, key);
+    }
+
+    @Override
+    public boolean wasPressed(Keys key) {
+        return InputRecorder.wasPressed(mask, key);
+    }
+
+    /**
+     * Replays an input log and prints the final state of the last level.
+     * Usage: InputReplay log [properties]
+     * @param args path of the log, properties file (default res/app.properties)
+     */
+    public static void main(String[] args) throws IOException {
+        Properties gameProps = IOUtils.readPropertiesFile(args.length > 1 ? args[1] : "res/app.properties");
+        InputReplay replay = new InputReplay(args[0]);
+        long start = System.nanoTime();
+        HeadlessSimulation simulation = replay.replay(gameProps);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (simulation == null) {
+            System.out.println("no level in " + args[0]);
+            return;
+        }
+        GamePlayScreen level = simulation.getLevel();
+        String result = !simulation.isEnded() ? "unfinished" : level.isLevelCompleted() ? "won" : "lost";
+        System.out.printf("%d ticks in %.3f s; level %d %s after %d ticks, score %d, %d s left, donkey hp %d%n",
+                replay.getTickCount(), seconds, level.getCurrLevel(), result, simulation.getFrameCount(),
+                level.getStartedScore(), level.getSecondsLeft(), level.getDonkeyHP());
+    }
+}
@@ -4,7 +4,11 @@
  */
 public class IntelliMonkey extends Monkey{
     private boolean isMonkeyFacingRight;
+    private final boolean isStartFacingRight; // facing direction when constructed, restored by reset
     private int timeCount = 0;
+    private static final double CLIMB_SPEED = 1; // px climbed per frame on a ladder while chasing
+    private boolean isClimbing = false; // on a ladder while chasing, gravity is skipped
+    private double climbTop; // top edge of the platform the climb ends on
 
     /**
      * Constructs an IntelliMonkey with the given position, direction, and walking pattern
@@ -13,10 +17,83 @@ public class IntelliMonkey extends Monkey{
      * @param isMonkeyFacingRight Initial facing direction
      * @param lenWalkPattern The number of steps in the walking pattern
      * @param walkPattern An int array defining the walking pattern (in px)
+     * @param session the game session, giving the screen bounds
      */
-    public IntelliMonkey(double x, double y, boolean isMonkeyFacingRight, int lenWalkPattern, int[] walkPattern) {
-        super(x, y, isMonkeyFacingRight, lenWalkPattern, walkPattern);
+    public IntelliMonkey(double x, double y, boolean isMonkeyFacingRight, int lenWalkPattern, int[] walkPattern,
+                         GameSession session) {
+        super(x, y, isMonkeyFacingRight, lenWalkPattern, walkPattern, session);
         this.isMonkeyFacingRight = isMonkeyFacingRight;
+        this.isStartFacingRight = isMonkeyFacingRight;
+    }
+
+    /**
+     * put the intell monkey back where it started, with its banana timer restarted
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        isMonkeyFacingRight = isStartFacingRight;
+        timeCount = 0;
+        isClimbing = false;
+    }
+
+    /**
+     * Chase a target over the navigation graph of the level instead of walking the walk pattern:
+     * look up the first edge of the shortest path from the monkey's platform to the target's,
+     * then walk to it and take it. Falls back on the walk pattern when the target cannot be reached.
+     * @param nav navigation graph of the level
+     * @param targetNode node of the platform the target is on, -1 if unknown
+     * @param targetX x-coordinate of the target
+     */
+    public void chase(NavGraph nav, int targetNode, double targetX) {
+        if (!isAlive()) {
+            return;
+        }
+        if (isClimbing) {
+            climb();
+            return;
+        }
+        if (getPlatform() == null) {
+            return; // falling, it walks again once landed
+        }
+        int node = nav.nodeOf(getPlatform());
+        int edge = node < 0 || targetNode < 0 ? -1 : nav.getFirstEdge(node, targetNode);
+        if (node >= 0 && node == targetNode) {
+            // same platform, walk up to the target without walking off
+            walkToward(Math.max(getPlatform().getLeft(), Math.min(getPlatform().getRight(), targetX)));
+        } else if (edge < 0) {
+            move(nav.getPlatformIndex());
+        } else if (nav.getEdgeType(edge) == NavGraph.CLIMB
+                && Math.abs(x - nav.getEdgeX(edge)) < HorizontallyMovable.MONKEY_MOVE_SPEED) {
+            // at the ladder, climb to the platform at its other end
+            x = nav.getEdgeX(edge);
+            climbTop = nav.getPlatform(nav.getEdgeTarget(edge)).getTop();
+            isClimbing = true;
+            setVelocityY(0);
+        } else {
+            // walk on to the next platform, to the ladder, or off the edge to drop
+            walkToward(nav.getEdgeX(edge));
+        }
+    }
+
+    /**
+     * climb a step toward the top of the platform the climb ends on, standing on it once reached
+     */
+    private void climb() {
+        double endY = climbTop - height / 2;
+        y = endY < y ? Math.max(endY, y - CLIMB_SPEED) : Math.min(endY, y + CLIMB_SPEED);
+        if (y == endY) {
+            isClimbing = false;
+        }
+    }
+
+    /**
+     * check if gravity applies to the intell monkey, only while it is alive and not on a ladder
+     * @return true if alive and not climbing; false otherwise
+     */
+    @Override
+    public boolean isFalling() {
+        return super.isFalling() && !isClimbing;
     }
 
     /**
@@ -1,10 +1,9 @@
 /**
  * Represents a ladder in the game.
- * The ladder falls under gravity until it lands on a platform.
+ * The ladder falls under gravity until it lands on a platform, then sleeps.
  */
-public class Ladder extends GameEntity implements PhysicsAffected{
-    private final static String LADDER_IMAGE = "res/ladder.png";
-    private double velocityY = 0; // Current vertical velocity due to gravity
+public class Ladder extends FallingEntity{
+    final static String LADDER_IMAGE = "res/ladder.png";
 
     /**
      * Constructs a ladder at the specified position.
@@ -20,20 +19,21 @@ public class Ladder extends GameEntity implements PhysicsAffected{
      * Updates the ladder's position by applying gravity and checking for platform collisions.
      * If a collision is detected, the ladder stops falling and rests on the platform.
      *
-     * @param platforms An array of platforms in the game.
+     * @param platforms The index of platforms in the game.
      */
-    public void update(Platform[] platforms) {
+    public void update(PlatformIndex platforms) {
         applyGravity(platforms);
-        // Draw the ladder after updating position
-        draw();
     }
 
     /**
      * Apply gravity on the ladder and let it land on platform by detecting collision
-     * @param platforms An array of platforms for collision detection.
+     * @param platforms The index of platforms for collision detection.
      */
     @Override
-    public void applyGravity(Platform[] platforms) {
+    public void applyGravity(PlatformIndex platforms) {
+        if (isSleeping()) {
+            return; // resting on a platform
+        }
         // Apply gravity
         velocityY += LADDER_GRAVITY;
 
@@ -43,19 +43,28 @@ public class Ladder extends GameEntity implements PhysicsAffected{
         }
 
         // Move the ladder downward
+        double fromY = y;
         y += velocityY;
+        land(platforms, fromY);
+    }
 
-        // Check for collision with platforms
-        for (Platform platform : platforms) {
-            if (getBoundingBox().intersects(platform.getBoundingBox())) {
-                // Position the ladder on top of the platform
-                y = platform.getY()
-                        - (platform.getHeight() / 2)  // Platform top edge
-                        - (height / 2);     // Ladder height offset
+    /**
+     * land the ladder on the first platform it collides with after it moved, or crossed while moving
+     * @param platforms The index of platforms for collision detection.
+     * @param fromY y-coordinate before it moved
+     */
+    @Override
+    public void land(PlatformIndex platforms, double fromY) {
+        // Check for collision with platforms, the first one the ladder lands on
+        Platform platform = platforms.findFirstCollision(this, fromY);
+        if (platform != null) {
+            // Position the ladder on top of the platform
+            y = platform.getY()
+                    - (platform.getHeight() / 2)  // Platform top edge
+                    - (height / 2);     // Ladder height offset
 
-                velocityY = 0; // Stop falling
-                break; // Stop checking further once the ladder lands
-            }
+            velocityY = 0; // Stop falling
         }
+        rest(platform != null);
     }
 }
@@ -0,0 +1,46 @@
+import bagel.Input;
+import bagel.Keys;
+
+/**
+ * Collects the window input of every rendered frame for the fixed-step simulation.
+ * A key press is kept until the next tick consumes it, so presses are neither lost
+ * in frames that run no tick nor repeated in frames that run several.
+ */
+public class LatchedInput implements GameInput {
+    private static final Keys[] KEYS = Keys.values();
+
+    private Input input; // bagel input of the current frame
+    private final boolean[] pressed = new boolean[KEYS.length]; // keys pressed since the last tick
+
+    /**
+     * record the bagel input of the current frame
+     * @param input the current mouse/keyboard input
+     */
+    public void latch(Input input) {
+        this.input = input;
+        for (Keys key : KEYS) {
+            if (input.wasPressed(key)) {
+                pressed[key.ordinal()] = true;
+            }
+        }
+    }
+
+    /**
+     * forget the presses seen by the last tick
+     */
+    public void endTick() {
+        for (int i = 0; i < pressed.length; i++) {
+            pressed[i] = false;
+        }
+    }
+
+    @Override
+    public boolean isDown(Keys key) {
+        return input.isDown(key);
+    }
+
+    @Override
+    public boolean wasPressed(Keys key) {
+        return pressed[key.ordinal()];
+    }
+}
@@ -0,0 +1,106 @@
+import java.util.Arrays;
+
+/**
+ * Counts latencies in log-linear buckets, as an HDR histogram does: each power of two is split
+ * into the same number of buckets, so every recorded value keeps about 3% precision from a
+ * nanosecond to hours. All buckets are allocated up front, recording never allocates.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5; // each power of two is split into 2^SUB_BITS buckets
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int LINEAR_COUNT = 2 * SUB_COUNT; // values below this have a bucket each
+    private static final int LINEAR_BITS = SUB_BITS + 1;
+    private static final int BUCKET_COUNT = LINEAR_COUNT + (Long.SIZE - 1 - LINEAR_BITS) * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT]; // number of values recorded in each bucket
+    private long totalCount = 0; // number of values recorded
+    private long max = 0; // largest value recorded, exactly
+
+    /**
+     * record a latency
+     * @param value latency in ns, negative values are recorded as 0
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts[bucketOf(v)]++;
+        totalCount++;
+        if (v > max) {
+            max = v;
+        }
+    }
+
+    /**
+     * get the bucket of a value
+     * @param value non-negative value
+     * @return bucket index
+     */
+    private static int bucketOf(long value) {
+        if (value < LINEAR_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value); // at least LINEAR_BITS
+        int shift = exponent - SUB_BITS;
+        int sub = (int) (value >>> shift) & (SUB_COUNT - 1);
+        return LINEAR_COUNT + (exponent - LINEAR_BITS) * SUB_COUNT + sub;
+    }
+
+    /**
+     * get the largest value of a bucket
+     * @param bucket bucket index
+     * @return largest value counted in the bucket
+     */
+    private static long highestOf(int bucket) {
+        if (bucket < LINEAR_COUNT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_COUNT) / SUB_COUNT + LINEAR_BITS;
+        int sub = (bucket - LINEAR_COUNT) % SUB_COUNT;
+        int shift = exponent - SUB_BITS;
+        return ((long) (SUB_COUNT + sub) << shift) + (1L << shift) - 1;
+    }
+
+    /**
+     * get the value at a percentile, within the precision of the buckets
+     * @param percentile percentile from 0 to 100
+     * @return smallest recorded bucket value that this percentage of values do not exceed, 0 if empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * get number of values recorded
+     * @return number of values
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * get largest value recorded
+     * @return largest value in ns
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * forget every recorded value
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        max = 0;
+    }
+}
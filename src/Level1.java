@@ -1,5 +1,4 @@
 import bagel.Font;
-import bagel.Input;
 
 import java.util.Properties;
 
@@ -8,8 +7,24 @@ import java.util.Properties;
      * no special game elements and logic required
      */
     public class Level1 extends GamePlayScreen{
+    // types only level1 constructs, initialized ahead by AssetPreloader; add a type here when level1 starts creating it
+    static final Class<?>[] CREATED_CLASSES = {};
+
     public Level1(Properties gameProps, int currLevel, int startedScore) {
-        super(gameProps, currLevel, startedScore);
+        this(gameProps, currLevel, startedScore, LevelData.load(gameProps, currLevel));
+    }
+
+    /**
+     * Constructs the gameplay screen for level1 from a layout loaded in advance
+     * @param gameProps property file with game setting
+     * @param currLevel current level number
+     * @param startedScore initial score of game
+     * @param levelData starting layout of the level
+     */
+    public Level1(Properties gameProps, int currLevel, int startedScore, LevelData levelData) {
+        super(gameProps, currLevel, startedScore, levelData);
+        // load the chunks around the camera once the level is constructed
+        loadStartingChunks();
     }
 
     /**
@@ -17,7 +32,73 @@ import java.util.Properties;
      * @param input input from keyboard
      */
     @Override
-    public void updateExtra(Input input) {
+    public void updateExtra(GameInput input) {
+    }
+
+    /**
+     * nothing extra to draw for level 1
+     * @param alpha interpolation factor from 0 (previous tick) to 1 (current tick)
+     * @param offsetX left edge of the camera view in the world
+     * @param offsetY top edge of the camera view in the world
+     */
+    @Override
+    public void renderExtra(double alpha, double offsetX, double offsetY) {
+    }
+
+    /**
+     * nothing extra to spawn for level 1
+     * @param chunk chunk number
+     */
+    @Override
+    public void loadChunkExtra(int chunk) {
+    }
+
+    /**
+     * nothing extra to activate for level 1
+     * @param minColumn first column of the active chunks
+     * @param minRow first row of the active chunks
+     * @param maxColumn last column of the active chunks, inclusive
+     * @param maxRow last row of the active chunks, inclusive
+     */
+    @Override
+    public void activateChunksExtra(int minColumn, int minRow, int maxColumn, int maxRow) {
+    }
+
+    /**
+     * nothing extra moves in level 1
+     */
+    @Override
+    public void savePositionsExtra() {
+    }
+
+    /**
+     * no extra phases to time for level 1
+     * @param profiler frame profiler
+     */
+    @Override
+    public void registerPhasesExtra(FrameProfiler profiler) {
+    }
+
+    /**
+     * nothing extra to restart for level 1
+     */
+    @Override
+    public void resetExtra() {
+    }
+
+    /**
+     * nothing extra to create again for level 1
+     * @param oldData layout of the level before the change
+     */
+    @Override
+    public void reloadExtra(LevelData oldData) {
+    }
+
+    /**
+     * nothing extra to release for level 1
+     */
+    @Override
+    public void releaseExtra() {
     }
 
     /**
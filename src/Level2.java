@@ -1,8 +1,8 @@
 import bagel.Font;
-import bagel.Input;
 import bagel.Keys;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -19,19 +19,49 @@ public class Level2 extends GamePlayScreen {
     private final boolean NORMMONKEY = false; // normal monkey
 
     private static final String BLT_MESSAGE = "BULLET "; //
+    // types only level2 constructs, initialized ahead by AssetPreloader; add a type here when level2 starts creating it
+    static final Class<?>[] CREATED_CLASSES = {
+            Blaster.class, Monkey.class, IntelliMonkey.class, Bullet.class, Banana.class, ProjectilePool.class,
+            ProjectileSystem.class, NavGraph.class};
+    private HudText bulletText; // cached bullet info, created when first displayed
 
     private int currLevel; // record current level number
     private int donkeyHP = 5; // record current donkey HP
 
     // New game objects for Level 2
     private int bulletCount = 0; // record current number of bullets own
-    private Blaster[] blasters;   // Array of blaster in level2
-    private ArrayList<Bullet> bullets = new ArrayList<>(); // array list of bullets, can be shot by mario with blaster
-    private ArrayList<Banana> bananas = new ArrayList<>(); // array list of bullets, can be shot by alive intell monkey
-    private Monkey[] monkeys; // used to temporarily store normal and intell monkeys seperatedly
-    private final ArrayList<Monkey> allMonkeys = new ArrayList<>(); // array list to store all monkeys in level2
+    private final List<Blaster> blasters = new ArrayList<>(); // blasters of the active chunks
+    private final ArrayList<Monkey> allMonkeys = new ArrayList<>(); // monkeys of the active chunks in level2
+    private ChunkGrid<Blaster> blasterGrid; // blasters of every loaded chunk
+    private ChunkGrid<Monkey> monkeyGrid; // monkeys of every loaded chunk
+    private int[][] blasterSpawns; // for each chunk, the blasters of the level data it spawns once loaded
+    private int[][] intelliMonkeySpawns;
+    private int[][] normalMonkeySpawns;
+    private Broadphase<Blaster> blasterPhase; // finds blasters near mario
+    private Broadphase<Monkey> monkeyPhase; // finds monkeys near a bullet or mario
+    private GravityBatch<Monkey> monkeyGravity; // applies gravity to all alive monkeys at once
+    private final boolean isChasing; // intell monkeys chase mario instead of walking their walk pattern
+    private NavGraph navGraph; // paths between the platforms for chasing, null unless chasing
+    private double[] navLadders; // ladder positions the navigation graph was built from
+
+    // Phases of updateExtra timed by the profiler
+    private int monkeyPhaseBuildPhase;
+    private int shootPhase;
+    private int bulletsPhase;
+    private int bananasPhase;
+    private int marioVsMonkeyPhase;
+    private int monkeysPhase;
 
     private final static int BANANACD = 300; // banana can be shot with interval of 300 framse (5 sec)
+    private final static int POOL_CAPACITY = 32; // most projectiles of each kind kept for reuse
+
+    // bullets shot by mario with blaster and bananas thrown by alive intell monkeys, each updated once a tick
+    private final ProjectileSystem<Bullet> bullets = new ProjectileSystem<>(
+            (x, y) -> new Bullet(x, y, getSession()), POOL_CAPACITY);
+    private final ProjectileSystem<Banana> bananas = new ProjectileSystem<>(
+            (x, y) -> new Banana(x, y, getSession()), POOL_CAPACITY);
+    private final ProjectileSystem.HitTest<Bullet> bulletHit = this::bulletHit;
+    private final ProjectileSystem.HitTest<Banana> bananaHit = this::bananaHit;
 
     /**
      * Constructs the gameplay screen for level2, loading resources and initializing game objects.
@@ -40,76 +70,73 @@ public class Level2 extends GamePlayScreen {
      * @param startedScore initial score of game
      */
     public Level2(Properties gameProps, int currLevel, int startedScore) {
-        super(gameProps, currLevel, startedScore);
+        this(gameProps, currLevel, startedScore, LevelData.load(gameProps, currLevel));
+    }
+
+    /**
+     * Constructs the gameplay screen for level2 from a layout loaded in advance
+     * @param gameProps property file with game setting
+     * @param currLevel current level number
+     * @param startedScore initial score of game
+     * @param levelData starting layout of the level
+     */
+    public Level2(Properties gameProps, int currLevel, int startedScore, LevelData levelData) {
+        super(gameProps, currLevel, startedScore, levelData);
         this.GAME_PROPS = gameProps;
         this.currLevel = currLevel;
+        this.isChasing = Boolean.parseBoolean(gameProps.getProperty("monkeyChase.level" + currLevel, "false"));
         // initialize game entities (besides blasters) in level2
         initializeGameObjects2();
+        // load the chunks around the camera once the level is constructed
+        loadStartingChunks();
     }
 
     /**
-     * handle decrease health for donkey and kill monkey when hit by bullet
+     * handle decrease health for donkey and kill monkey when hit by a moved bullet
+     * @param bullet active bullet
      */
-    private void bulletHit(){
-        // Update all bullets every frame
-        ArrayList<Bullet> bulletsToRemove = new ArrayList<>();
-        for (Bullet bullet : bullets) {
-            bullet.update(mario);
-            // remove inactive bullet
-            if (!bullet.isActive()) {
-                bulletsToRemove.add(bullet);
-            }
-            // -1 hp for donkey health every time shoot and inactivate the bullet
-            if (bullet.isCollide(donkey)){
-                donkeyHP--;
-                setDonkeyHP(donkeyHP);
+    private void bulletHit(Bullet bullet){
+        // -1 hp for donkey health every time shoot and inactivate the bullet
+        if (bullet.isSweptCollide(donkey)){
+            donkeyHP--;
+            setDonkeyHP(donkeyHP);
+            bullet.setActive(false);
+            return;
+        }
+        // kill monkey if active bullet touches monkey and inactivate the bullet
+        int nearMonkeys = monkeyPhase.querySwept(bullet);
+        for (int i = 0; i < nearMonkeys && bullet.isActive(); i++){
+            Monkey monkey = monkeyPhase.getCandidate(i);
+            if (monkey.isAlive() && bullet.isSweptCollide(monkey)){
+                monkey.kill();
+                // score gain for shot a monkey
+                startedScore += MONKEY_SCORE;
                 bullet.setActive(false);
             }
-            // kill monkey if active bullet touches monkey and inactivate the bullet
-            for (Monkey monkey: allMonkeys){
-                if (monkey.isAlive()){
-                    if (bullet.isCollide(monkey)){
-                        monkey.kill();
-                        // score gain for shot a monkey
-                        startedScore += MONKEY_SCORE;
-                        bullet.setActive(false);
-                    }
-                }
-            }
         }
-        bullets.removeAll(bulletsToRemove);
     }
 
     /**
-     * handle mario being killed after hit by a banana
+     * handle mario being killed after hit by a moved banana
+     * @param banana active banana
      */
-    private void bananaHit(){
-        ArrayList<Banana> bananasToRemove = new ArrayList<>();
-        for (Banana banana : bananas) {
-            for (Monkey monkey : allMonkeys){
-                // only update banana for intell monkey
-                if (monkey instanceof IntelliMonkey){
-                    banana.update((IntelliMonkey) monkey);
-                    if (!banana.isActive()) {
-                        bananasToRemove.add(banana);
-                    }
-                    // inactivate banana after hit mario, loss the game
-                    if (banana.isCollide(mario)){
-                        banana.setActive(false);
-                        isGameOver = true;
-                    }
-                }
-            }
+    private void bananaHit(Banana banana){
+        // inactivate banana after hit mario, loss the game
+        if (banana.isSweptCollide(mario)){
+            banana.setActive(false);
+            isGameOver = true;
         }
-        bananas.removeAll(bananasToRemove);
     }
 
     /**
      * handle mario can kill monkey with hammer
      */
     private void marioVsMonkey(){
-        for (Monkey monkey: allMonkeys) {
-            if (mario.isCollide(monkey)) {
+        int nearMonkeys = monkeyPhase.query(mario);
+        for (int i = 0; i < nearMonkeys; i++) {
+            Monkey monkey = monkeyPhase.getCandidate(i);
+            // a monkey shot this frame is still indexed
+            if (monkey.isAlive() && mario.isCollide(monkey)) {
                 // mario kill monkey by hammer
                 if (mario.holdHammer()){
                     monkey.kill();
@@ -127,38 +154,197 @@ public class Level2 extends GamePlayScreen {
      * @param input input from keyboard
      */
     @Override
-    public void updateExtra(Input input) {
-        // load uncollected blasters
-        for (Blaster blaster : blasters) {
-            if (!blaster.isCollected()){
-                blaster.draw();
-            }
+    public void updateExtra(GameInput input) {
+        // monkeys only move at the end of the frame, index them once for bullets and mario
+        FrameProfiler profiler = getProfiler();
+        // a collected blaster leaves play until the level restarts
+        if (blasterGrid.despawn(blasters, Weapon::isCollected) > 0) {
+            blasterPhase.build(blasters);
         }
+        monkeyPhase.build(allMonkeys);
+        profiler.lap(monkeyPhaseBuildPhase);
         shootBullet(input);
         shootBanana();
-        bulletHit();
-        bananaHit();
+        profiler.lap(shootPhase);
+        // move, hit and retire every projectile once
+        bullets.update(bulletHit);
+        profiler.lap(bulletsPhase);
+        bananas.update(bananaHit);
+        profiler.lap(bananasPhase);
         marioVsMonkey();
-        donkeyBeShot();
-        // load all monkeys
+        // killed monkeys leave play until the level restarts
+        monkeyGrid.despawn(allMonkeys, monkey -> !monkey.isAlive());
+        profiler.lap(marioVsMonkeyPhase);
+        // update all monkeys, falling first then walking
+        monkeyGravity.apply(allMonkeys, platformIndex);
+        if (isChasing) {
+            // intell monkeys head for the platform mario last stood on
+            updateNavGraph();
+            int marioNode = navGraph.nodeOf(mario.getLastPlatform());
+            for (Monkey monkey: allMonkeys){
+                if (monkey instanceof IntelliMonkey) {
+                    ((IntelliMonkey) monkey).chase(navGraph, marioNode, mario.x);
+                } else {
+                    monkey.move(platformIndex);
+                }
+            }
+        } else {
+            for (Monkey monkey: allMonkeys){
+                monkey.move(platformIndex);
+            }
+        }
+        // keep the moved monkeys in the chunk they are in now
+        rebucketActive(monkeyGrid, allMonkeys);
+        profiler.lap(monkeysPhase);
+    }
+
+    /**
+     * register the profiler phases of the extra game logic in level2
+     * @param profiler frame profiler
+     */
+    @Override
+    public void registerPhasesExtra(FrameProfiler profiler) {
+        this.monkeyPhaseBuildPhase = profiler.phase("monkeyPhase");
+        this.shootPhase = profiler.phase("shoot");
+        this.bulletsPhase = profiler.phase("bullets");
+        this.bananasPhase = profiler.phase("bananas");
+        this.marioVsMonkeyPhase = profiler.phase("marioVsMonkey");
+        this.monkeysPhase = profiler.phase("monkeys");
+    }
+
+    /**
+     * draw extra game elements in level2
+     * @param alpha interpolation factor from 0 (previous tick) to 1 (current tick)
+     * @param offsetX left edge of the camera view in the world
+     * @param offsetY top edge of the camera view in the world
+     */
+    @Override
+    public void renderExtra(double alpha, double offsetX, double offsetY) {
+        for (Blaster blaster : blasters) {
+            blaster.draw(1, offsetX, offsetY);
+        }
+        bullets.draw(alpha, offsetX, offsetY);
+        bananas.draw(alpha, offsetX, offsetY);
+        // draw all monkeys
         for (Monkey monkey: allMonkeys){
-            monkey.draw();
-            monkey.update(platforms);
+            monkey.draw(alpha, offsetX, offsetY);
         }
     }
 
     /**
-     * handle donkey being shoot by bullet
+     * spawn the blasters and monkeys of the level data starting in a newly loaded chunk,
+     * intell monkeys first as the level data lists them
+     * @param chunk chunk number
      */
-    private void donkeyBeShot(){
-        for (Bullet bullet: bullets){
-            // donkey -1 hp for being hit by bullet
-            if (bullet.isCollide(donkey)){
-                donkeyHP = getDonkeyHP();
-                donkeyHP--;
-                bullet.setActive(false);
-                setDonkeyHP(donkeyHP);
+    @Override
+    public void loadChunkExtra(int chunk) {
+        loadBlasters(chunk);
+        loadMonkeys(INTELLMONKEY, intelliMonkeySpawns[chunk]);
+        loadMonkeys(NORMMONKEY, normalMonkeySpawns[chunk]);
+    }
+
+    /**
+     * spawn the blasters of the level data starting in a chunk
+     * @param chunk chunk number
+     */
+    private void loadBlasters(int chunk) {
+        double[] blasterCoords = getLevelData().getBlasters();
+        for (int i : blasterSpawns[chunk]) {
+            blasterGrid.add(new Blaster(blasterCoords[2 * i], blasterCoords[2 * i + 1]));
+        }
+    }
+
+    /**
+     * make the blasters and monkeys of the active chunks the updated ones
+     * @param minColumn first column of the active chunks
+     * @param minRow first row of the active chunks
+     * @param maxColumn last column of the active chunks, inclusive
+     * @param maxRow last row of the active chunks, inclusive
+     */
+    @Override
+    public void activateChunksExtra(int minColumn, int minRow, int maxColumn, int maxRow) {
+        blasters.clear();
+        blasterGrid.collect(minColumn, minRow, maxColumn, maxRow, blasters);
+        // blasters only change with the active chunks
+        blasterPhase.build(blasters);
+        allMonkeys.clear();
+        monkeyGrid.collect(minColumn, minRow, maxColumn, maxRow, allMonkeys);
+    }
+
+    /**
+     * remember the position of projectiles and monkeys before a tick moves them
+     */
+    @Override
+    public void savePositionsExtra() {
+        bullets.savePositions();
+        bananas.savePositions();
+        for (Monkey monkey: allMonkeys){
+            monkey.savePosition();
+        }
+    }
+
+    /**
+     * restart blasters, monkeys and projectiles in place, projectiles in play go back to their pools
+     */
+    @Override
+    public void resetExtra() {
+        donkeyHP = getDonkeyHP();
+        bulletCount = 0;
+        bullets.reset();
+        bananas.reset();
+        blasterGrid.reset();
+        monkeyGrid.reset();
+    }
+
+    /**
+     * create again the blasters or monkeys whose layout changed, in every chunk loaded so far;
+     * both monkey types share one chunk grid, so a change of either creates all monkeys again
+     * @param oldData layout of the level before the change
+     */
+    @Override
+    public void reloadExtra(LevelData oldData) {
+        LevelData levelData = getLevelData();
+        if (levelData.getBlasters() != oldData.getBlasters()) {
+            for (Blaster blaster : blasterGrid.getAll()) {
+                blaster.release();
+            }
+            this.blasterGrid = createChunkGrid();
+            this.blasterSpawns = blasterGrid.bucket(levelData.getBlasters());
+            for (int chunk = 0; chunk < blasterSpawns.length; chunk++) {
+                if (isChunkLoaded(chunk)) {
+                    loadBlasters(chunk);
+                }
+            }
+        }
+        if (levelData.getIntelligentMonkeys() != oldData.getIntelligentMonkeys()
+                || levelData.getNormalMonkeys() != oldData.getNormalMonkeys()) {
+            for (Monkey monkey : monkeyGrid.getAll()) {
+                monkey.release();
             }
+            this.monkeyGrid = createChunkGrid();
+            this.intelliMonkeySpawns = monkeyGrid.bucket(levelData.getIntelligentMonkeys().getPositions());
+            this.normalMonkeySpawns = monkeyGrid.bucket(levelData.getNormalMonkeys().getPositions());
+            for (int chunk = 0; chunk < intelliMonkeySpawns.length; chunk++) {
+                if (isChunkLoaded(chunk)) {
+                    loadMonkeys(INTELLMONKEY, intelliMonkeySpawns[chunk]);
+                    loadMonkeys(NORMMONKEY, normalMonkeySpawns[chunk]);
+                }
+            }
+        }
+    }
+
+    /**
+     * release sprites of extra game elements in level2
+     */
+    @Override
+    public void releaseExtra() {
+        for (Blaster blaster : blasterGrid.getAll()) {
+            blaster.release();
+        }
+        bullets.release();
+        bananas.release();
+        for (Monkey monkey: monkeyGrid.getAll()){
+            monkey.release();
         }
     }
 
@@ -170,9 +356,11 @@ public class Level2 extends GamePlayScreen {
      */
     @Override
     public void displayBullet(Font STATUS_FONT, int DKH_X, int DKH_Y) {
-        // display bullet info
-        STATUS_FONT.drawString(BLT_MESSAGE + mario.getBulletCount(),
-                DKH_X, DKH_Y + BULLET_DISPLAY_DIFF_Y);
+        // display bullet info, rebuilt only when the bullet count changes
+        if (bulletText == null) {
+            bulletText = new HudText(STATUS_FONT, BLT_MESSAGE, DKH_X, DKH_Y + BULLET_DISPLAY_DIFF_Y);
+        }
+        bulletText.draw(mario.getBulletCount());
     }
 
     /**
@@ -183,15 +371,13 @@ public class Level2 extends GamePlayScreen {
             if ((monkey instanceof IntelliMonkey) && monkey.isAlive()){
                 int timeCount = ((IntelliMonkey) monkey).getTimeCount();
                 if (timeCount == BANANACD || timeCount == 0){
-                    bananas.add(new Banana(monkey.x, monkey.y));
+                    // banana travels in the direction the monkey faces
+                    bananas.fire(monkey.x, monkey.y, monkey.isFacingRight());
                     timeCount = 0;
                     ((IntelliMonkey) monkey).setTimeCount(timeCount);
                 }
                 timeCount++;
                 ((IntelliMonkey) monkey).setTimeCount(timeCount);
-                for (Banana banana: bananas){
-                    banana.update((IntelliMonkey) monkey);
-                }
             }
         }
     }
@@ -200,19 +386,14 @@ public class Level2 extends GamePlayScreen {
      * handle shoot using blaster by mario when press 'S' and there're sufficient bullets
      * @param input input from keyboard
      */
-    private void shootBullet(Input input){
+    private void shootBullet(GameInput input){
         bulletCount =  mario.getBulletCount();
         // handle shot action by mario with blaster
         if (mario.holdBlaster() && bulletCount != 0 && input.wasPressed(Keys.S)){
             bulletCount--;
             mario.setBulletCount(bulletCount);
-            bullets.add(new Bullet(mario.x, mario.y));
-            // update bullet when there're reamining
-            if (!bullets.isEmpty()){
-                for (Bullet bullet: bullets){
-                    bullet.update(mario);
-                }
-            }
+            // bullet travels in the direction mario faces
+            bullets.fire(mario.x, mario.y, mario.isFacingRight());
         }
         // mario not hold blaster when no bullet
         if (bulletCount == 0){
@@ -221,55 +402,85 @@ public class Level2 extends GamePlayScreen {
     }
 
     /**
-     * get an array of blasters in level2
-     * @return an array of blasters
+     * get the blasters of the active chunks in level2
+     * @return list of blasters
      */
-    public Blaster[] getBlasters() {
+    public List<Blaster> getBlasters() {
         return blasters;
     }
 
-    private void loadMonkeys(boolean isIntell){
-        // different basekey for intell and normal monkeys
-        String baseKey = (isIntell ? "intelligent": "normal") + "Monkey.level2.";
-        // readin number of each type of monkey
-        int count = Integer.parseInt(GAME_PROPS.getProperty(baseKey + "count"));
-        monkeys = new Monkey[count];
-        // readin info for ith monkey (from 1)
-        for (int i = 1; i <= count; i++){
-            String[] info = GAME_PROPS.getProperty(baseKey + i).split(";");
-            String[] coords = info[0].split(","); // start position of monkey
-            boolean isFacingRight = (info[1].equals("right")) ? true : false; // direction of monkey
-            int lenWalkPattern = (info[2].split(",")).length; // length of walking pattern
-            int[] walkPattern = new int[lenWalkPattern];
-            // used to store a sequence of distance (in px), reverse direction and walk for next distane
+    /**
+     * get the broadphase of blasters in level2, used by mario to collect them
+     * @return broadphase indexing the blasters
+     */
+    public Broadphase<Blaster> getBlasterPhase() {
+        return blasterPhase;
+    }
+
+    /**
+     * spawn monkeys of the level data
+     * @param isIntell true for intell monkeys; false for normal monkeys
+     * @param indices indices of the monkeys to spawn in the level data
+     */
+    private void loadMonkeys(boolean isIntell, int[] indices){
+        // different monkey data for intell and normal monkeys
+        LevelData.MonkeyData data = isIntell ? getLevelData().getIntelligentMonkeys() :
+                getLevelData().getNormalMonkeys();
+        double[] positions = data.getPositions();
+        for (int i : indices){
+            // walk pattern is a sequence of distance (in px), reverse direction and walk for next distane
             // once reach the current direction (in loop)
-            for (int j = 0; j < lenWalkPattern; j++){
-                walkPattern[j] = Integer.parseInt(info[2].split(",")[j]);
-            }
+            int[] walkPattern = data.getWalkPattern(i);
             // create a specific type of monkey by readin info
-            Monkey monkey = isIntell ? (new IntelliMonkey(Double.parseDouble(coords[0]),
-                    Double.parseDouble(coords[1]), isFacingRight, lenWalkPattern, walkPattern)) :
-                    (new Monkey(Double.parseDouble(coords[0]), Double.parseDouble(coords[1]),
-                            isFacingRight, lenWalkPattern, walkPattern));
-            allMonkeys.add(monkey);
+            Monkey monkey = isIntell ? (new IntelliMonkey(positions[2 * i], positions[2 * i + 1],
+                    data.isFacingRight(i), walkPattern.length, walkPattern, getSession())) :
+                    (new Monkey(positions[2 * i], positions[2 * i + 1],
+                            data.isFacingRight(i), walkPattern.length, walkPattern, getSession()));
+            monkeyGrid.add(monkey);
+        }
+    }
+
+    /**
+     * build the navigation graph of the platforms and ladders again if either changed since it was built,
+     * so it is only built when the level is constructed or its layout reloaded
+     */
+    private void updateNavGraph() {
+        if (navGraph != null && navGraph.getPlatformIndex() == platformIndex
+                && navLadders == getLevelData().getLadders()) {
+            return;
         }
+        // ladders and intell monkeys are the size of their images
+        Sprite ladderImage = SpriteRegistry.acquire(Ladder.LADDER_IMAGE);
+        Sprite monkeyImage = SpriteRegistry.acquire(Monkey.IMONKEYL_IMG);
+        this.navLadders = getLevelData().getLadders();
+        this.navGraph = new NavGraph(platformIndex, navLadders, ladderImage.getWidth(), ladderImage.getHeight(),
+                monkeyImage.getWidth());
+        SpriteRegistry.release(ladderImage);
+        SpriteRegistry.release(monkeyImage);
     }
 
     /**
-     * initialize additional game entities in level2 (besides blasters)
+     * initialize the chunk grids, broadphases and gravity of additional game entities in level2
      */
     private void initializeGameObjects2() {
-        // Load blasters
-        this.blasters = loadEntities(GAME_PROPS, "blaster", currLevel, new EntityFactory<Blaster>() {
-            @Override
-            public Blaster create(String[] parts) {
-                String[] coords = parts[0].split(",");
-                return new Blaster(Double.parseDouble(coords[0]), Double.parseDouble(coords[1]));
-            }
-        }).toArray(new Blaster[0]);
-        // load intell monkeys
-        loadMonkeys(INTELLMONKEY);
-        // load normal monkeys
-        loadMonkeys(NORMMONKEY);
+        GameEvents.LevelLoad load = new GameEvents.LevelLoad();
+        load.begin();
+        // blasters and monkeys are spawned chunk by chunk, near the camera
+        this.blasterGrid = createChunkGrid();
+        this.monkeyGrid = createChunkGrid();
+        this.blasterSpawns = blasterGrid.bucket(getLevelData().getBlasters());
+        this.intelliMonkeySpawns = monkeyGrid.bucket(getLevelData().getIntelligentMonkeys().getPositions());
+        this.normalMonkeySpawns = monkeyGrid.bucket(getLevelData().getNormalMonkeys().getPositions());
+        this.blasterPhase = createBroadphase();
+        this.monkeyPhase = createBroadphase();
+        // monkeys move before limiting their velocity
+        this.monkeyGravity = createGravityBatch(PhysicsAffected.MONKEY_GRAVITY,
+                PhysicsAffected.MONKEY_TERMINAL_VELOCITY, false);
+        if (isChasing) {
+            updateNavGraph();
+        }
+        load.level = currLevel;
+        load.stage = "level2";
+        load.commit();
     }
 }
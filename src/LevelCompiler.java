@@ -0,0 +1,48 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * Compiles the levels authored in the properties file into binary level files,
+ * loaded by setting levelFile.level(n) to the compiled file.
+ */
+public class LevelCompiler {
+    /**
+     * compile every level of the properties file, level n is written to (outDir)/level(n).dkl
+     * @param gameProps property file with game setting
+     * @param outDir directory of the level files
+     * @return number of levels compiled
+     * @throws IOException if a level file cannot be written
+     */
+    public static int compile(Properties gameProps, String outDir) throws IOException {
+        int currLevel = 1;
+        // every level places mario
+        while (gameProps.getProperty("mario.level" + currLevel) != null) {
+            LevelData.fromProperties(gameProps, currLevel).write(getLevelFile(outDir, currLevel));
+            currLevel++;
+        }
+        return currLevel - 1;
+    }
+
+    /**
+     * get the path of the compiled file of a level
+     * @param outDir directory of the level files
+     * @param currLevel level number
+     * @return path of the level file
+     */
+    public static String getLevelFile(String outDir, int currLevel) {
+        return new File(outDir, "level" + currLevel + ".dkl").getPath();
+    }
+
+    /**
+     * Compiles the levels of a properties file.
+     * Usage: LevelCompiler [properties] [outDir]
+     * @param args properties file (default res/app.properties), output directory (default res)
+     */
+    public static void main(String[] args) throws IOException {
+        String propsFile = args.length > 0 ? args[0] : "res/app.properties";
+        String outDir = args.length > 1 ? args[1] : "res";
+        int levels = compile(IOUtils.readPropertiesFile(propsFile), outDir);
+        System.out.println("compiled " + levels + " levels of " + propsFile + " into " + outDir);
+    }
+}
@@ -0,0 +1,454 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * The starting layout of a level: where Mario, Donkey Kong and every other entity start.
+ * Positions are kept in primitive arrays of x, y pairs. The layout is authored in the properties file
+ * and can be compiled by LevelCompiler into a binary level file, which is memory-mapped and read
+ * in bulk without any string parsing.
+ */
+public class LevelData {
+    /** first int of a level file */
+    public static final int MAGIC = 0x444B4C56; // "DKLV"
+    /** version of the level file format, second int of a level file */
+    public static final int VERSION = 1;
+    private static final int LEVEL2 = 2; // the level with blasters and monkeys
+
+    private final int currLevel;
+    private final double[] mario; // x, y of mario
+    private final double[] donkey; // x, y of donkey
+    private final double[] platforms; // x, y pairs of each entity kind
+    private final double[] barrels;
+    private final double[] ladders;
+    private final double[] hammers;
+    private final double[] blasters;
+    private final MonkeyData intelligentMonkeys;
+    private final MonkeyData normalMonkeys;
+
+    /**
+     * starting position, direction and walking pattern of each monkey of one type
+     */
+    public static class MonkeyData {
+        private final double[] positions; // x, y pairs
+        private final boolean[] isFacingRight;
+        private final int[] patternStarts; // walk pattern of monkey i is patterns[patternStarts[i]..patternStarts[i + 1]]
+        private final int[] patterns; // walking patterns of all monkeys, one after another
+
+        MonkeyData(double[] positions, boolean[] isFacingRight, int[] patternStarts, int[] patterns) {
+            this.positions = positions;
+            this.isFacingRight = isFacingRight;
+            this.patternStarts = patternStarts;
+            this.patterns = patterns;
+        }
+
+        /**
+         * get number of monkeys
+         * @return number of monkeys
+         */
+        public int getCount() {
+            return isFacingRight.length;
+        }
+
+        /**
+         * get x, y pairs of the starting positions
+         * @return starting positions, 2 values per monkey
+         */
+        public double[] getPositions() {
+            return positions;
+        }
+
+        /**
+         * check the starting direction of a monkey
+         * @param i index of the monkey
+         * @return true: facing right; false: facing left
+         */
+        public boolean isFacingRight(int i) {
+            return isFacingRight[i];
+        }
+
+        /**
+         * copy the walking pattern of a monkey
+         * @param i index of the monkey
+         * @return distances (in px) walked before each turn
+         */
+        public int[] getWalkPattern(int i) {
+            int[] walkPattern = new int[patternStarts[i + 1] - patternStarts[i]];
+            System.arraycopy(patterns, patternStarts[i], walkPattern, 0, walkPattern.length);
+            return walkPattern;
+        }
+    }
+
+    private LevelData(int currLevel, double[] mario, double[] donkey, double[] platforms, double[] barrels,
+                      double[] ladders, double[] hammers, double[] blasters,
+                      MonkeyData intelligentMonkeys, MonkeyData normalMonkeys) {
+        this.currLevel = currLevel;
+        this.mario = mario;
+        this.donkey = donkey;
+        this.platforms = platforms;
+        this.barrels = barrels;
+        this.ladders = ladders;
+        this.hammers = hammers;
+        this.blasters = blasters;
+        this.intelligentMonkeys = intelligentMonkeys;
+        this.normalMonkeys = normalMonkeys;
+    }
+
+    /**
+     * load a level, from its compiled level file if levelFile.level(currLevel) is set,
+     * otherwise from the properties themselves
+     * @param gameProps property file with game setting
+     * @param currLevel level number
+     * @return layout of the level
+     */
+    public static LevelData load(Properties gameProps, int currLevel) {
+        String levelFile = gameProps.getProperty("levelFile.level" + currLevel, "");
+        if (levelFile.isEmpty()) {
+            return fromProperties(gameProps, currLevel);
+        }
+        try {
+            return read(levelFile);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(-1);
+            return null;
+        }
+    }
+
+    /**
+     * parse a level from the properties file, the authoring format of levels
+     * @param props property file with game setting
+     * @param currLevel level number
+     * @return layout of the level
+     */
+    public static LevelData fromProperties(Properties props, int currLevel) {
+        String level = ".level" + currLevel;
+        boolean isLevel2 = currLevel == LEVEL2;
+        return new LevelData(currLevel,
+                parsePoint(props.getProperty("mario" + level)),
+                parsePoint(props.getProperty("donkey" + level)),
+                parsePlatforms(props.getProperty("platforms" + level)),
+                parsePoints(props, "barrel" + level, true),
+                parsePoints(props, "ladder" + level, true),
+                parsePoints(props, "hammer" + level, true),
+                parsePoints(props, "blaster" + level, isLevel2),
+                parseMonkeys(props, "intelligentMonkey" + level, isLevel2),
+                parseMonkeys(props, "normalMonkey" + level, isLevel2));
+    }
+
+    /**
+     * parse again only the entity kinds of this level whose keys changed in the properties file,
+     * the arrays of the other kinds are shared with this layout, so a kind changed iff its array changed
+     * @param props property file with game setting, already holding the new values
+     * @param changedKeys keys added, changed or removed since this layout was parsed
+     * @return layout of the level with the changed kinds parsed again
+     */
+    public LevelData reparse(Properties props, Set<String> changedKeys) {
+        String level = ".level" + currLevel;
+        boolean isLevel2 = currLevel == LEVEL2;
+        return new LevelData(currLevel,
+                isChanged(changedKeys, "mario" + level) ? parsePoint(props.getProperty("mario" + level)) : mario,
+                isChanged(changedKeys, "donkey" + level) ? parsePoint(props.getProperty("donkey" + level)) : donkey,
+                isChanged(changedKeys, "platforms" + level) ?
+                        parsePlatforms(props.getProperty("platforms" + level)) : platforms,
+                isChanged(changedKeys, "barrel" + level) ? parsePoints(props, "barrel" + level, true) : barrels,
+                isChanged(changedKeys, "ladder" + level) ? parsePoints(props, "ladder" + level, true) : ladders,
+                isChanged(changedKeys, "hammer" + level) ? parsePoints(props, "hammer" + level, true) : hammers,
+                isChanged(changedKeys, "blaster" + level) ?
+                        parsePoints(props, "blaster" + level, isLevel2) : blasters,
+                isChanged(changedKeys, "intelligentMonkey" + level) ?
+                        parseMonkeys(props, "intelligentMonkey" + level, isLevel2) : intelligentMonkeys,
+                isChanged(changedKeys, "normalMonkey" + level) ?
+                        parseMonkeys(props, "normalMonkey" + level, isLevel2) : normalMonkeys);
+    }
+
+    /**
+     * check if a key of an entity kind changed, the kind's own key or any key under it
+     */
+    private static boolean isChanged(Set<String> changedKeys, String baseKey) {
+        for (String key : changedKeys) {
+            if (key.equals(baseKey) || key.startsWith(baseKey + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double[] parsePoint(String data) {
+        String[] coords = data.split(",");
+        return new double[]{Double.parseDouble(coords[0]), Double.parseDouble(coords[1])};
+    }
+
+    /**
+     * parse the platforms, "x,y" entries separated by ";", invalid entries are skipped
+     */
+    private static double[] parsePlatforms(String data) {
+        if (data == null || data.isEmpty()) {
+            return new double[0]; // No platform data
+        }
+        String[] entries = data.split(";");
+        double[] points = new double[2 * entries.length];
+        int count = 0;
+        for (String entry : entries) {
+            String[] coords = entry.trim().split(",");
+            if (coords.length < 2) {
+                System.out.println("Warning: Invalid platform entry -> " + entry);
+                continue; // Skip invalid entries with wrong coordinate format
+            }
+            points[2 * count] = Double.parseDouble(coords[0]);
+            points[2 * count + 1] = Double.parseDouble(coords[1]);
+            count++;
+        }
+        return trim(points, 2 * count);
+    }
+
+    /**
+     * parse entities of the format
+     * (baseKey).count = number of entities, (baseKey).(i: 1...count) = x,y
+     * entities without data are skipped, those failing to parse are reported and skipped
+     */
+    private static double[] parsePoints(Properties props, String baseKey, boolean isUsed) {
+        int count = parseCount(props, baseKey, isUsed);
+        double[] points = new double[2 * count];
+        int parsed = 0;
+        for (int i = 1; i <= count; i++) {
+            String data = props.getProperty(baseKey + "." + i);
+            if (data == null) continue;
+            try {
+                double[] point = parsePoint(data.split(";")[0]);
+                points[2 * parsed] = point[0];
+                points[2 * parsed + 1] = point[1];
+                parsed++;
+            } catch (Exception e) {
+                // error message for unable to create
+                System.out.println("Error creating " + baseKey + "." + i + ": " + e.getMessage());
+            }
+        }
+        return trim(points, 2 * parsed);
+    }
+
+    /**
+     * parse monkeys of the format (baseKey).(i) = x,y;direction;distance,distance,...
+     */
+    private static MonkeyData parseMonkeys(Properties props, String baseKey, boolean isUsed) {
+        int count = parseCount(props, baseKey, isUsed);
+        double[] positions = new double[2 * count];
+        boolean[] isFacingRight = new boolean[count];
+        int[] patternStarts = new int[count + 1];
+        int[][] walkPatterns = new int[count][];
+        for (int i = 0; i < count; i++) {
+            String[] info = props.getProperty(baseKey + "." + (i + 1)).split(";");
+            double[] point = parsePoint(info[0]); // start position of monkey
+            positions[2 * i] = point[0];
+            positions[2 * i + 1] = point[1];
+            isFacingRight[i] = info[1].equals("right"); // direction of monkey
+            // a sequence of distances (in px), reverse direction and walk the next distance
+            // once the current one is reached (in loop)
+            String[] distances = info[2].split(",");
+            walkPatterns[i] = new int[distances.length];
+            for (int j = 0; j < distances.length; j++) {
+                walkPatterns[i][j] = Integer.parseInt(distances[j]);
+            }
+            patternStarts[i + 1] = patternStarts[i] + distances.length;
+        }
+        int[] patterns = new int[patternStarts[count]];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(walkPatterns[i], 0, patterns, patternStarts[i], walkPatterns[i].length);
+        }
+        return new MonkeyData(positions, isFacingRight, patternStarts, patterns);
+    }
+
+    /**
+     * parse (baseKey).count; a kind the level uses must set it, a kind it does not use has none by default
+     * @throws NumberFormatException if the count is missing for a used kind, or is not a number
+     */
+    private static int parseCount(Properties props, String baseKey, boolean isUsed) {
+        String count = props.getProperty(baseKey + ".count");
+        return count == null && !isUsed ? 0 : Integer.parseInt(count);
+    }
+
+    private static double[] trim(double[] values, int length) {
+        if (length == values.length) {
+            return values;
+        }
+        double[] trimmed = new double[length];
+        System.arraycopy(values, 0, trimmed, 0, length);
+        return trimmed;
+    }
+
+    /**
+     * write the level as a binary level file: a header, then each entity kind as a count
+     * followed by its values, all big-endian
+     * @param path path of the level file, overwritten if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void write(String path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(currLevel);
+            for (double[] points : new double[][]{mario, donkey, platforms, barrels, ladders, hammers, blasters}) {
+                writeDoubles(out, points);
+            }
+            writeMonkeys(out, intelligentMonkeys);
+            writeMonkeys(out, normalMonkeys);
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        out.writeInt(values.length);
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeMonkeys(DataOutputStream out, MonkeyData monkeys) throws IOException {
+        writeDoubles(out, monkeys.positions);
+        out.writeInt(monkeys.isFacingRight.length);
+        for (boolean isFacingRight : monkeys.isFacingRight) {
+            out.writeBoolean(isFacingRight);
+        }
+        writeInts(out, monkeys.patternStarts);
+        writeInts(out, monkeys.patterns);
+    }
+
+    /**
+     * read a binary level file written by write, mapping it into memory and copying each array in bulk
+     * @param path path of the level file
+     * @return layout of the level
+     * @throws IOException if the file cannot be read or is not a level file
+     */
+    public static LevelData read(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.remaining() < 3 * Integer.BYTES || in.getInt() != MAGIC) {
+                throw new IOException("Not a level file: " + path);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported level file version " + version + ": " + path);
+            }
+            int currLevel = in.getInt();
+            return new LevelData(currLevel, readDoubles(in), readDoubles(in), readDoubles(in), readDoubles(in),
+                    readDoubles(in), readDoubles(in), readDoubles(in), readMonkeys(in), readMonkeys(in));
+        }
+    }
+
+    private static double[] readDoubles(ByteBuffer in) {
+        double[] values = new double[in.getInt()];
+        in.asDoubleBuffer().get(values);
+        in.position(in.position() + values.length * Double.BYTES);
+        return values;
+    }
+
+    private static int[] readInts(ByteBuffer in) {
+        int[] values = new int[in.getInt()];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + values.length * Integer.BYTES);
+        return values;
+    }
+
+    private static MonkeyData readMonkeys(ByteBuffer in) {
+        double[] positions = readDoubles(in);
+        boolean[] isFacingRight = new boolean[in.getInt()];
+        for (int i = 0; i < isFacingRight.length; i++) {
+            isFacingRight[i] = in.get() != 0;
+        }
+        return new MonkeyData(positions, isFacingRight, readInts(in), readInts(in));
+    }
+
+    /**
+     * get level number
+     * @return level number
+     */
+    public int getCurrLevel() {
+        return currLevel;
+    }
+
+    /**
+     * get starting position of mario
+     * @return x, y of mario
+     */
+    public double[] getMario() {
+        return mario;
+    }
+
+    /**
+     * get position of donkey kong
+     * @return x, y of donkey
+     */
+    public double[] getDonkey() {
+        return donkey;
+    }
+
+    /**
+     * get positions of the platforms
+     * @return x, y pairs, 2 values per platform
+     */
+    public double[] getPlatforms() {
+        return platforms;
+    }
+
+    /**
+     * get starting positions of the barrels
+     * @return x, y pairs, 2 values per barrel
+     */
+    public double[] getBarrels() {
+        return barrels;
+    }
+
+    /**
+     * get starting positions of the ladders
+     * @return x, y pairs, 2 values per ladder
+     */
+    public double[] getLadders() {
+        return ladders;
+    }
+
+    /**
+     * get positions of the hammers
+     * @return x, y pairs, 2 values per hammer
+     */
+    public double[] getHammers() {
+        return hammers;
+    }
+
+    /**
+     * get positions of the blasters, level 2 only
+     * @return x, y pairs, 2 values per blaster
+     */
+    public double[] getBlasters() {
+        return blasters;
+    }
+
+    /**
+     * get the intelligent monkeys, level 2 only
+     * @return intelligent monkeys
+     */
+    public MonkeyData getIntelligentMonkeys() {
+        return intelligentMonkeys;
+    }
+
+    /**
+     * get the normal monkeys, level 2 only
+     * @return normal monkeys
+     */
+    public MonkeyData getNormalMonkeys() {
+        return normalMonkeys;
+    }
+}
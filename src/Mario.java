@@ -1,5 +1,6 @@
 import bagel.*;
-import bagel.util.Rectangle;
+
+import java.util.List;
 
 /**
  * Represents the player-controlled character, Mario.
@@ -13,26 +14,26 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
     private boolean hasBlaster = false; // Whether Mario has collected a blaster
 
     // store image path for mario face left and right
-    private final static String MARIOL_IMG = "res/mario_left.png";
-    private final static String MARIOR_IMG = "res/mario_right.png";
+    final static String MARIOL_IMG = "res/mario_left.png";
+    final static String MARIOR_IMG = "res/mario_right.png";
 
     // store image path for mario face left and right with a hammer
-    private final static String MARIOLH_IMG = "res/mario_hammer_left.png";
-    private final static String MARIORH_IMG = "res/mario_hammer_right.png";
+    final static String MARIOLH_IMG = "res/mario_hammer_left.png";
+    final static String MARIORH_IMG = "res/mario_hammer_right.png";
 
     // store image path for mario face left and right with a blaster
-    private final static String MARIOLB_IMG = "res/mario_blaster_left.png";
-    private final static String MARIORB_IMG = "res/mario_blaster_right.png";
+    final static String MARIOLB_IMG = "res/mario_blaster_left.png";
+    final static String MARIORB_IMG = "res/mario_blaster_right.png";
 
 
     // Mario images for different states
-    private Image marioImage;
-    private final Image MARIO_RIGHT_IMAGE = new Image(MARIOR_IMG);
-    private final Image MARIO_LEFT_IMAGE = new Image(MARIOL_IMG);
-    private final Image MARIO_HAMMER_LEFT_IMAGE = new Image(MARIOLH_IMG);
-    private final Image MARIO_HAMMER_RIGHT_IMAGE = new Image(MARIORH_IMG);
-    private final Image MARIO_BLASTER_LEFT_IMAGE = new Image(MARIOLB_IMG);
-    private final Image MARIO_BLASTER_RIGHT_IMAGE = new Image(MARIORB_IMG);
+    private Sprite marioImage;
+    private final Sprite MARIO_RIGHT_IMAGE = SpriteRegistry.acquire(MARIOR_IMG);
+    private final Sprite MARIO_LEFT_IMAGE = SpriteRegistry.acquire(MARIOL_IMG);
+    private final Sprite MARIO_HAMMER_LEFT_IMAGE = SpriteRegistry.acquire(MARIOLH_IMG);
+    private final Sprite MARIO_HAMMER_RIGHT_IMAGE = SpriteRegistry.acquire(MARIORH_IMG);
+    private final Sprite MARIO_BLASTER_LEFT_IMAGE = SpriteRegistry.acquire(MARIOLB_IMG);
+    private final Sprite MARIO_BLASTER_RIGHT_IMAGE = SpriteRegistry.acquire(MARIORB_IMG);
 
     // Movement physics constants
     private static final double JUMP_STRENGTH = -5;
@@ -42,14 +43,18 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
 
     private int bulletCount = 0;  // number of bullet own now
     private boolean isFacingRight = true; // Mario's facing direction
+    private Platform lastPlatform; // platform Mario last stood on, null before he first lands
+    private final GameSession session; // game session mario plays in, for the screen bounds
 
     /**
      * Constructs a Mario character at the specified starting position with its image.
      * @param x Initial x-coordinate.
      * @param y Initial y-coordinate.
+     * @param session the game session, giving the screen bounds
      */
-    public Mario(double x, double y) {
+    public Mario(double x, double y, GameSession session) {
         super(MARIOR_IMG, x, y);
+        this.session = session;
         marioImage = MARIO_RIGHT_IMAGE;
     }
 
@@ -93,20 +98,23 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
      * Updates Mario's movement, jumping, ladder climbing, hammer collection, and interactions.
      * This method is called every frame to process player input and update Mario's state.
      *
-     * @param input     The player's input (keyboard/mouse).
-     * @param ladders   The array of ladders in the game that Mario can climb.
-     * @param platforms The array of platforms in the game that Mario can walk on.
-     * @param hammers    The array of hammer objects that Mario can collect and use as weapon.
-     * @param blasters The array of blaster objects that Mario can collect and use as weapon.
+     * @param input     The player's input (keyboard).
+     * @param ladders   The ladders near Mario that he can climb.
+     * @param platforms The index of platforms in the game that Mario can walk on.
+     * @param hammers    The broadphase of hammer objects that Mario can collect and use as weapon.
+     * @param blasters The broadphase of blaster objects that Mario can collect and use as weapon.
      */
-    public void update(Input input, Ladder[] ladders, Platform[] platforms, Hammer[] hammers, Blaster[] blasters) {
+    public void update(GameInput input, List<Ladder> ladders, PlatformIndex platforms,
+                       Broadphase<Hammer> hammers, Broadphase<Blaster> blasters) {
         handleHorizontalMovement(input); // Horizontal movement
-        for (Hammer hammer: hammers){
-            handleHammerCollection(hammer); // picked up the hammer
+        int nearHammers = hammers.query(this);
+        for (int i = 0; i < nearHammers; i++){
+            handleHammerCollection(hammers.getCandidate(i)); // picked up the hammer
         }
         if (blasters != null){ // only when blaster present in current game
-            for (Blaster blaster: blasters){
-                handleBlasterCollection(blaster); // pick up the blaster
+            int nearBlasters = blasters.query(this);
+            for (int i = 0; i < nearBlasters; i++){
+                handleBlasterCollection(blasters.getCandidate(i)); // pick up the blaster
             }
         }
         updateSprite(); // Update Mario’s current sprite (hammer or not, facing left or right, blaster or not)
@@ -120,16 +128,31 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
             applyGravity(platforms);
         }
         // Actually move Mario vertically after gravity
+        double fromY = y;
         y += velocityY;
         // Check for platform collision AFTER Mario moves
         boolean onPlatform;
-        onPlatform = handlePlatforms(platforms);
+        onPlatform = handlePlatforms(platforms, fromY);
         //  If we are on the platform, allow jumping; Prevent Mario from falling below the ground
         handleJumping(onPlatform, wantsToJump);
         // Enforce horizontal screen bounds
         enforceBoundaries();
-        // Draw Mario
-        draw();
+    }
+
+    /**
+     * put mario back at the start of the level, empty-handed and facing right
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        velocityY = 0;
+        isJumping = false;
+        hasHammer = false;
+        hasBlaster = false;
+        bulletCount = 0;
+        isFacingRight = true;
+        lastPlatform = null;
+        marioImage = MARIO_RIGHT_IMAGE;
     }
 
     /**
@@ -140,6 +163,14 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
         marioImage.draw(x, y);
     }
 
+    /**
+     * get the platform Mario last stood on, kept while he jumps or climbs
+     * @return last platform, null before he first lands
+     */
+    public Platform getLastPlatform() {
+        return lastPlatform;
+    }
+
     /**
      * get if mario faces right
      * @return true: right; false: left
@@ -153,32 +184,28 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
      * Mario will only snap to a platform if he is moving downward (velocityY >= 0),
      * preventing his jump from being interrupted in mid-air.
      *
-     * @param platforms An array of {@link Platform} objects representing the platforms in the game.
-
+     * A platform whose top Mario's bottom crossed while moving is landed on too,
+     * so he cannot fall through one however fast he falls.
+     *
+     * @param platforms The {@link PlatformIndex} of the platforms in the game.
+     * @param fromY y-coordinate of Mario before he moved vertically
      * @return {@code true} if Mario is standing on a platform, {@code false} otherwise.
      */
-    private boolean handlePlatforms(Platform[] platforms) {
+    private boolean handlePlatforms(PlatformIndex platforms, double fromY) {
         boolean onPlatform = false;
         // We'll only snap Mario to a platform if he's moving downward (velocityY >= 0)
         // so we don't kill his jump in mid-air.
         if (velocityY >= 0) {
-            for (Platform platform : platforms) {
-                Rectangle marioBounds    = getBoundingBox();
-                Rectangle platformBounds = platform.getBoundingBox();
-                if (marioBounds.intersects(platformBounds)) {
-                    double marioBottom = marioBounds.bottom();
-                    double platformTop = platformBounds.top();
-                    // If Mario's bottom is at or above the platform's top
-                    // and not far below it (a small threshold based on velocity)
-                    if (marioBottom <= platformTop + velocityY) {
-                        // Snap Mario so his bottom = the platform top
-                        y = platformTop - (marioImage.getHeight() / 2);
-                        velocityY = 0;
-                        isJumping = false;
-                        onPlatform = true;
-                        break; // We found a platform collision
-                    }
-                }
+            // First platform Mario collides with where Mario's bottom is at or above the platform's top
+            // and not far below it (a small threshold based on velocity)
+            Platform platform = platforms.findLanding(this, velocityY, fromY);
+            if (platform != null) {
+                // Snap Mario so his bottom = the platform top
+                y = platform.getTop() - (marioImage.getHeight() / 2);
+                velocityY = 0;
+                isJumping = false;
+                onPlatform = true;
+                lastPlatform = platform;
             }
         }
         return onPlatform;
@@ -191,11 +218,11 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
      * Mario can only climb if he is within the horizontal boundaries of the ladder.
      * He stops sliding unintentionally when not pressing movement keys.
      *
-     * @param input   The {@link Input} object that checks for user key presses.
-     * @param ladders An array of {@link Ladder} objects representing ladders in the game.
+     * @param input   The {@link GameInput} object that checks for user key presses.
+     * @param ladders A list of {@link Ladder} objects representing ladders near Mario.
      * @return {@code true} if Mario is on a ladder, {@code false} otherwise.
      */
-    private boolean handleLadders(Input input, Ladder[] ladders) {
+    private boolean handleLadders(GameInput input, List<Ladder> ladders) {
         boolean isOnLadder = false;
         for (Ladder ladder : ladders) {
             double ladderLeft  = ladder.getX() - (ladder.getWidth() / 2);
@@ -245,7 +272,7 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
     }
 
     /** Handles horizontal movement based on player input. */
-    private void handleHorizontalMovement(Input input) {
+    private void handleHorizontalMovement(GameInput input) {
         if (input.isDown(Keys.LEFT)) { // move left
             x -= HorizontallyMovable.MARIO_MOVE_SPEED;
             isFacingRight = false;
@@ -305,8 +332,8 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
             isJumping = true;
         }
         double bottomOfMario = y + (marioImage.getHeight() / 2);
-        if (bottomOfMario > ShadowDonkeyKong.getScreenHeight()) { // can't jump out of the screen
-            y = ShadowDonkeyKong.getScreenHeight() - (marioImage.getHeight() / 2);
+        if (bottomOfMario > session.getWorldHeight()) { // can't jump out of the screen
+            y = session.getWorldHeight() - (marioImage.getHeight() / 2);
             velocityY = 0;
             isJumping = false;
         }
@@ -324,16 +351,16 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
             x = halfW;
         }
         // Prevent Mario from moving beyond the right edge of the screen
-        double maxX = ShadowDonkeyKong.getScreenWidth() - halfW;
+        double maxX = session.getWorldWidth() - halfW;
         if (x > maxX) {
             x = maxX;
         }
         // Calculate Mario's bottom edge position
         double bottomOfMario = y + (marioImage.getHeight() / 2);
         // Prevent Mario from falling below the bottom of the screen
-        if (bottomOfMario > ShadowDonkeyKong.getScreenHeight()) {
+        if (bottomOfMario > session.getWorldHeight()) {
             // Reposition Mario to stand on the bottom edge
-            y = ShadowDonkeyKong.getScreenHeight() - (marioImage.getHeight() / 2);
+            y = session.getWorldHeight() - (marioImage.getHeight() / 2);
             // Stop vertical movement and reset jumping state
             velocityY = 0;
             isJumping = false;
@@ -346,7 +373,7 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
      */
     private void updateSprite() {
         //  Remember the old image and its bottom
-        Image oldImage = marioImage;
+        Sprite oldImage = marioImage;
         double oldHeight = oldImage.getHeight();
         double oldBottom = y + (oldHeight / 2);
         // Assign the new image based on facing & hammer & blater
@@ -382,13 +409,36 @@ public class Mario extends GameEntity implements HorizontallyMovable, PhysicsAff
                 - (JUMP_STRENGTH * JUMP_STRENGTH) / (2 * MARIO_GRAVITY) - height / 2));
     }
 
+    /**
+     * get the lowest bottom edge a barrel can have to still be jumped over, see jumpOver.
+     * used to find the barrels near mario, so it has a pixel of slack
+     * @return y-coordinate of the lowest barrel bottom edge
+     */
+    public double getJumpOverLimit() {
+        return y + height + (JUMP_STRENGTH * JUMP_STRENGTH) / (2 * MARIO_GRAVITY) + 1;
+    }
+
     /**
      * Apply gravity on mario and let it land on platform by detecting collision
-     * @param platforms An array of platforms for collision detection.
+     * @param platforms The index of platforms for collision detection.
      */
     @Override
-    public void applyGravity(Platform[] platforms) {
+    public void applyGravity(PlatformIndex platforms) {
         velocityY += MARIO_GRAVITY;
         velocityY = Math.min(MARIO_TERMINAL_VELOCITY, velocityY);
     }
+
+    /**
+     * release all sprites of mario to the sprite registry
+     */
+    @Override
+    public void release() {
+        SpriteRegistry.release(MARIO_RIGHT_IMAGE);
+        SpriteRegistry.release(MARIO_LEFT_IMAGE);
+        SpriteRegistry.release(MARIO_HAMMER_LEFT_IMAGE);
+        SpriteRegistry.release(MARIO_HAMMER_RIGHT_IMAGE);
+        SpriteRegistry.release(MARIO_BLASTER_LEFT_IMAGE);
+        SpriteRegistry.release(MARIO_BLASTER_RIGHT_IMAGE);
+        super.release();
+    }
 }
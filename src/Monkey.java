@@ -1,34 +1,29 @@
-import bagel.Image;
-import bagel.util.Rectangle;
-
 /**
  * represent enemy monkey in the game
  * monkeys can walk across platforms, turn around at edges/reaching distance o=in walking pattern
  * and respond to gravity when loaded, have normal and intelligent types.
  */
-public class Monkey extends GameEntity implements PhysicsAffected, HorizontallyMovable{
+public class Monkey extends FallingEntity implements HorizontallyMovable{
     // implements HorizontallyMovable, PhysicsAffected
 
-    private double velocityY = 0; // Vertical velocity
-
     // store image path for normal monkey face left and right
-    private final static String NMONKEYL_IMG = "res/normal_monkey_left.png";
-    private final static String NMONKEYR_IMG = "res/normal_monkey_right.png";
+    final static String NMONKEYL_IMG = "res/normal_monkey_left.png";
+    final static String NMONKEYR_IMG = "res/normal_monkey_right.png";
 
     // store image path for intell monkey face left and right
-    private final static String IMONKEYL_IMG = "res/intelli_monkey_left.png";
-    private final static String IMONKEYR_IMG = "res/intelli_monkey_right.png";
+    final static String IMONKEYL_IMG = "res/intelli_monkey_left.png";
+    final static String IMONKEYR_IMG = "res/intelli_monkey_right.png";
 
-    private final int OUTOFSCREEN = -10000; // a random point out of screen boundary
 
     // monkey images for different types and directions
-    private Image monkeyImage;
-    private final Image NMONKEY_RIGHT_IMAGE = new Image(NMONKEYR_IMG);
-    private final Image NMONKEY_LEFT_IMAGE = new Image(NMONKEYL_IMG);
-    private final Image IMONKEY_LEFT_IMAGE = new Image(IMONKEYL_IMG);
-    private final Image IMONKEY_RIGHT_IMAGE = new Image(IMONKEYR_IMG);
+    private Sprite monkeyImage;
+    private final Sprite NMONKEY_RIGHT_IMAGE = SpriteRegistry.acquire(NMONKEYR_IMG);
+    private final Sprite NMONKEY_LEFT_IMAGE = SpriteRegistry.acquire(NMONKEYL_IMG);
+    private final Sprite IMONKEY_LEFT_IMAGE = SpriteRegistry.acquire(IMONKEYL_IMG);
+    private final Sprite IMONKEY_RIGHT_IMAGE = SpriteRegistry.acquire(IMONKEYR_IMG);
 
     private boolean isFacingRight; // record facing direction of monkey
+    private final boolean isStartFacingRight; // facing direction when constructed, restored by reset
     private int lenWalkPattern; // length of walk pattern
     // walk pattern of monkey, store a sequence of integers indicate distance in pixel
     private int[] walkPattern = new int[lenWalkPattern];
@@ -36,6 +31,12 @@ public class Monkey extends GameEntity implements PhysicsAffected, HorizontallyM
     private double distCount = 0; // count distance of current walk (in one direction)
     private int i = 0; // count index of curent walk in the walking pattern
     private boolean isAlive = true; // revords if the monkey is alive
+    private Platform platform; // platform the monkey stands on, null while in the air
+    // walkway under the monkey's foot, so turning at its edges does not search the platforms every frame
+    private PlatformIndex walkwayIndex; // index the walkway was found in, null until found
+    private double walkwayFootY; // y-coordinate of the foot when the walkway was found
+    private final double[] walkway = new double[2]; // left edge and right edge of the walkway
+    private final GameSession session; // game session the monkey is in, for the screen bounds
 
     /**
      * Constructs a monkey with the given position, direction, and walking pattern
@@ -44,15 +45,33 @@ public class Monkey extends GameEntity implements PhysicsAffected, HorizontallyM
      * @param isMonkeyFacingRight Initial facing direction
      * @param lenWalkPattern The number of steps in the walking pattern
      * @param walkPattern An int array defining the walking pattern (in px)
+     * @param session the game session, giving the screen bounds
      */
-    public Monkey(double x, double y, boolean isMonkeyFacingRight, int lenWalkPattern, int[] walkPattern) {
+    public Monkey(double x, double y, boolean isMonkeyFacingRight, int lenWalkPattern, int[] walkPattern,
+                  GameSession session) {
         super(NMONKEYL_IMG, x, y);
+        this.session = session;
         this.isFacingRight = isMonkeyFacingRight;
+        this.isStartFacingRight = isMonkeyFacingRight;
         this.lenWalkPattern = lenWalkPattern;
         this.walkPattern = walkPattern;
         this.monkeyImage = NMONKEY_LEFT_IMAGE;
     }
 
+    /**
+     * put the monkey back where it started, alive and at the start of its walk pattern
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        isFacingRight = isStartFacingRight;
+        distCount = 0;
+        i = 0;
+        isAlive = true;
+        platform = null;
+        monkeyImage = NMONKEY_LEFT_IMAGE;
+    }
+
     /**
      * draw monkey with correct current image at the coordinate point
      */
@@ -63,26 +82,56 @@ public class Monkey extends GameEntity implements PhysicsAffected, HorizontallyM
 
     /**
      * Updates monkey's movement, image change and fall on platform when is alive
-     * @param platforms an array of platforms for collision detection
+     * @param platforms the index of platforms for collision detection
      */
-    public void update(Platform[] platforms){
+    public void update(PlatformIndex platforms){
         // only update if alive
         if (isAlive){
-            monkeyImage = getMonkeyImage();
             applyGravity(platforms);
+        }
+        move(platforms);
+    }
+
+    /**
+     * Updates monkey's movement and image change once gravity was applied, a killed monkey stays put
+     * until the level takes it out of play
+     * @param platforms the index of platforms for finding platform edges
+     */
+    public void move(PlatformIndex platforms){
+        if (isAlive){
+            monkeyImage = getMonkeyImage();
             LRMove(platforms, isFacingRight, lenWalkPattern, walkPattern);
             updateSprite();
         }
-        else{ // remove if killed
-            x = OUTOFSCREEN;
+    }
+
+    /**
+     * walk one step toward an x-coordinate and face it, instead of following the walk pattern;
+     * stays put once closer than a step
+     * @param targetX x-coordinate to walk to
+     */
+    protected void walkToward(double targetX) {
+        if (Math.abs(targetX - x) >= MONKEY_MOVE_SPEED) {
+            isFacingRight = targetX > x;
+            x += isFacingRight ? MONKEY_MOVE_SPEED : -MONKEY_MOVE_SPEED;
         }
+        monkeyImage = getMonkeyImage();
+        updateSprite();
+    }
+
+    /**
+     * get the platform the monkey stands on
+     * @return platform it last landed on, null while in the air
+     */
+    public Platform getPlatform() {
+        return platform;
     }
 
     /**
      * get correct image of monkey based on its type and facing direction
      * @return correct image of monkey based on its type and facing direction
      */
-    public Image getMonkeyImage() {
+    public Sprite getMonkeyImage() {
         // different image for different type of monkeys and directions
         if (this instanceof IntelliMonkey){ // image for intell monkey
             return isFacingRight ? IMONKEY_RIGHT_IMAGE : IMONKEY_LEFT_IMAGE;
@@ -100,7 +149,7 @@ public class Monkey extends GameEntity implements PhysicsAffected, HorizontallyM
      * @param lenWalkPattern
      * @param walkPattern
      */
-    private void LRMove(Platform[] platforms, boolean isFacingRight, int lenWalkPattern, int[] walkPattern){
+    private void LRMove(PlatformIndex platforms, boolean isFacingRight, int lenWalkPattern, int[] walkPattern){
         if (isFacingRight){ // walk right when face right
             x += MONKEY_MOVE_SPEED;
         }
@@ -110,17 +159,12 @@ public class Monkey extends GameEntity implements PhysicsAffected, HorizontallyM
         // count dist for current move
         this.distCount += MONKEY_MOVE_SPEED;
         // used to check if monkey is on edge of platform, ensure it not fell off and turn around
-        boolean onEdge = true;
         double nextX = isFacingRight ? x + MONKEY_MOVE_SPEED : x - MONKEY_MOVE_SPEED;
-        Rectangle footArea = new Rectangle(nextX, y + currentImage.getHeight() + 1, 1, 1);
-        for (Platform platform : platforms) { // Pass platforms into monkey during update
-            onEdge = platform.getBoundingBox().intersects(footArea);
-            if (onEdge){
-                break; // confirm monkey is on edge
-            }
-        }
+        // 1x1 foot area just below the monkey at its next position, on a platform unless at its edge;
+        // only checked once landed
+        boolean isAtEdge = velocityY == 0 && platforms.size() != 0 && !isOnWalkway(platforms, nextX);
         // turn around if on edge (include when just fell on the platform) or reach the distance for walking pattern
-        if ((this.distCount >= walkPattern[i % lenWalkPattern]) || !onEdge && velocityY == 0) {
+        if ((this.distCount >= walkPattern[i % lenWalkPattern]) || isAtEdge) {
             i++;
             this.distCount = 0;
             this.isFacingRight = !isFacingRight;
@@ -129,13 +173,34 @@ public class Monkey extends GameEntity implements PhysicsAffected, HorizontallyM
         }
     }
 
+    /**
+     * check if the 1x1 foot area just below the monkey at footX is on a platform, two comparisons
+     * against the walkway it walks on; the walkway is only searched again when the foot leaves it,
+     * drops to another height or the platforms changed
+     * @param platforms the index of platforms for finding platform edges
+     * @param footX left edge of the foot area
+     * @return true if on a platform; false at its edge
+     */
+    private boolean isOnWalkway(PlatformIndex platforms, double footX) {
+        double footY = y + currentImage.getHeight() + 1;
+        if (platforms == walkwayIndex && footY == walkwayFootY && walkway[0] < footX + 1 && walkway[1] > footX) {
+            return true;
+        }
+        if (!platforms.findWalkway(footX, footY, footY + 1, walkway)) {
+            return false;
+        }
+        walkwayIndex = platforms;
+        walkwayFootY = footY;
+        return true;
+    }
+
     /**
      * Switch Mario's sprite (left/right, or hammer/no-hammer).
      * Adjust Mario's 'y' so that the bottom edge stays consistent.
      */
     private void updateSprite() {
         // Remember the old image and its bottom
-        Image oldImage = monkeyImage;
+        Sprite oldImage = monkeyImage;
         double oldHeight = oldImage.getHeight();
         double oldBottom = y + (oldHeight / 2);
         // Assign the new image based on direction
@@ -161,25 +226,44 @@ public class Monkey extends GameEntity implements PhysicsAffected, HorizontallyM
 
     /**
      * Apply gravity on monkey and let it land on platform by detecting collision
-     * @param platforms An array of platforms for collision detection.
+     * @param platforms The index of platforms for collision detection.
      */
     @Override
-    public void applyGravity(Platform[] platforms) {
+    public void applyGravity(PlatformIndex platforms) {
         // Apply gravity
         velocityY += MONKEY_GRAVITY;
+        double fromY = y;
         y += velocityY;
         if (velocityY > MONKEY_TERMINAL_VELOCITY) {
             velocityY = MONKEY_TERMINAL_VELOCITY;
         }
         // Check for platform collisions
-        for (Platform platform : platforms) {
-            if (this.isCollide(platform)) {
-                // Position Donkey on top of the platform
-                y = platform.getY() - (platform.getHeight() / 2) - (this.height / 2);
-                velocityY = 0; // Stop downward movement
-                break;
-            }
+        land(platforms, fromY);
+    }
+
+    /**
+     * land the monkey on the first platform it collides with after it moved, or crossed while moving
+     * @param platforms The index of platforms for collision detection.
+     * @param fromY y-coordinate before it moved
+     */
+    @Override
+    public void land(PlatformIndex platforms, double fromY) {
+        Platform platform = platforms.findFirstCollision(this, fromY);
+        if (platform != null) {
+            // Position monkey on top of the platform
+            y = platform.getY() - (platform.getHeight() / 2) - (this.height / 2);
+            velocityY = 0; // Stop downward movement
         }
+        this.platform = platform;
+    }
+
+    /**
+     * check if gravity applies to the monkey, only while it is alive
+     * @return true if alive; false once killed
+     */
+    @Override
+    public boolean isFalling() {
+        return isAlive;
     }
 
     /**
@@ -194,6 +278,9 @@ public class Monkey extends GameEntity implements PhysicsAffected, HorizontallyM
      * set monkey as not alive when be killed
      */
     public void kill() {
+        if (isAlive) {
+            GameEvents.entityDeath(this);
+        }
         isAlive = false;
     }
 
@@ -210,9 +297,21 @@ public class Monkey extends GameEntity implements PhysicsAffected, HorizontallyM
             x = halfW;
         }
         // Prevent monkey from moving beyond the right edge of the screen
-        double maxX = ShadowDonkeyKong.getScreenWidth() - halfW;
+        double maxX = session.getWorldWidth() - halfW;
         if (x > maxX) {
             x = maxX;
         }
     }
+
+    /**
+     * release all sprites of monkey to the sprite registry
+     */
+    @Override
+    public void release() {
+        SpriteRegistry.release(NMONKEY_RIGHT_IMAGE);
+        SpriteRegistry.release(NMONKEY_LEFT_IMAGE);
+        SpriteRegistry.release(IMONKEY_LEFT_IMAGE);
+        SpriteRegistry.release(IMONKEY_RIGHT_IMAGE);
+        super.release();
+    }
 }
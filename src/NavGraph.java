@@ -0,0 +1,247 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A navigation graph of a level for walking bodies, built once from its platforms and ladders.
+ * Each platform is a node; a body goes from one to another by walking on to a platform it touches,
+ * climbing a ladder standing on one platform up to the platform at its top (or down it), or walking off
+ * an edge and dropping on to the platform below. The first edge of the shortest path between every pair
+ * of platforms is computed up front, so a chasing body only looks it up in a table each frame.
+ */
+public class NavGraph {
+    /** walk across to a platform touching this one */
+    public static final int WALK = 0;
+    /** climb a ladder up or down to another platform */
+    public static final int CLIMB = 1;
+    /** walk off the edge and fall on to the platform below */
+    public static final int DROP = 2;
+
+    private static final double DROP_MARGIN = 1; // px past the point where a body stops overlapping its platform
+
+    private final Platform[] platforms; // nodes, in level order
+    private final IdentityHashMap<Platform, Integer> nodes = new IdentityHashMap<>(); // node of each platform
+    private final PlatformIndex platformIndex; // platforms the graph was built from
+
+    // edges, one entry per edge
+    private int edgeCount = 0;
+    private int[] edgeTo = new int[16]; // node the edge leads to
+    private int[] edgeType = new int[16]; // WALK, CLIMB or DROP
+    private double[] edgeX = new double[16]; // x-coordinate to walk to before taking the edge
+    private double[] edgeCost = new double[16]; // length of the edge in px
+    private final List<List<Integer>> outEdges = new ArrayList<>(); // edges leaving each node, while building
+
+    private final int[] firstEdge; // firstEdge[from * count + to]: first edge on the shortest path, -1 if none
+
+    /**
+     * Constructs the graph and its path table.
+     * @param platformIndex index of the platforms of the level
+     * @param ladderCoords x, y pairs of the starting position of each ladder, ladders fall on to a platform first
+     * @param ladderWidth width of a ladder
+     * @param ladderHeight height of a ladder
+     * @param bodyWidth width of the bodies walking the graph
+     */
+    public NavGraph(PlatformIndex platformIndex, double[] ladderCoords, double ladderWidth, double ladderHeight,
+                    double bodyWidth) {
+        this.platformIndex = platformIndex;
+        this.platforms = platformIndex.getPlatforms();
+        for (int i = 0; i < platforms.length; i++) {
+            outEdges.add(new ArrayList<>());
+            if (platforms[i] != null) {
+                nodes.put(platforms[i], i);
+            }
+        }
+        addWalkEdges(bodyWidth);
+        addDropEdges(bodyWidth);
+        addClimbEdges(ladderCoords, ladderWidth, ladderHeight);
+        this.firstEdge = new int[platforms.length * platforms.length];
+        Arrays.fill(firstEdge, -1);
+        for (int from = 0; from < platforms.length; from++) {
+            findPaths(from);
+        }
+    }
+
+    /**
+     * connect platforms at the same height that touch or overlap, a body walks across
+     */
+    private void addWalkEdges(double bodyWidth) {
+        for (int a = 0; a < platforms.length; a++) {
+            for (int b = 0; b < platforms.length; b++) {
+                Platform from = platforms[a];
+                Platform to = platforms[b];
+                if (a == b || from == null || to == null || from.getTop() != to.getTop()
+                        || to.getLeft() > from.getRight() || to.getRight() < from.getLeft()) {
+                    continue;
+                }
+                // walk until the body no longer overlaps the platform it leaves, staying on the other one
+                double x = to.x > from.x ?
+                        Math.min(from.getRight() + bodyWidth / 2 + DROP_MARGIN, to.getRight()) :
+                        Math.max(from.getLeft() - bodyWidth / 2 - DROP_MARGIN, to.getLeft());
+                addEdge(a, b, WALK, x, Math.abs(to.x - from.x));
+            }
+        }
+    }
+
+    /**
+     * connect each platform to the platforms below its edges, a body walks off the edge and falls
+     */
+    private void addDropEdges(double bodyWidth) {
+        for (int a = 0; a < platforms.length; a++) {
+            Platform from = platforms[a];
+            if (from == null) {
+                continue;
+            }
+            double[] dropXs = {from.getLeft() - bodyWidth / 2 - DROP_MARGIN, from.getRight() + bodyWidth / 2 + DROP_MARGIN};
+            for (double x : dropXs) {
+                // the body leaves the edge with its bottom at the top of the platform
+                Platform below = platformIndex.findRestingPlace(x - bodyWidth / 2, from.getTop() - 1,
+                        x + bodyWidth / 2, from.getTop());
+                if (below != null && below != from && below.getTop() > from.getTop()) {
+                    addEdge(a, nodes.get(below), DROP, x, Math.abs(x - from.x) + below.getTop() - from.getTop());
+                }
+            }
+        }
+    }
+
+    /**
+     * connect the platform each ladder rests on and the platform at its top, both ways
+     */
+    private void addClimbEdges(double[] ladderCoords, double ladderWidth, double ladderHeight) {
+        for (int i = 0; i < ladderCoords.length / 2; i++) {
+            double x = ladderCoords[2 * i];
+            double y = ladderCoords[2 * i + 1];
+            // a ladder falls for one tick before it lands, on the first platform it overlaps after that
+            y += PhysicsAffected.LADDER_GRAVITY;
+            Platform bottom = platformIndex.findRestingPlace(x - ladderWidth / 2, y - ladderHeight / 2,
+                    x + ladderWidth / 2, y + ladderHeight / 2);
+            if (bottom == null) {
+                continue;
+            }
+            // the ladder ends at the platform its top reaches, the highest one it passes through under x
+            double ladderTop = bottom.getTop() - ladderHeight;
+            Platform top = null;
+            for (Platform platform : platforms) {
+                if (platform != null && platform != bottom && platform.getLeft() < x && platform.getRight() > x
+                        && platform.getBottom() > ladderTop && platform.getTop() < bottom.getTop()
+                        && (top == null || platform.getTop() < top.getTop())) {
+                    top = platform;
+                }
+            }
+            if (top != null) {
+                double cost = bottom.getTop() - top.getTop();
+                addEdge(nodes.get(bottom), nodes.get(top), CLIMB, x, cost);
+                addEdge(nodes.get(top), nodes.get(bottom), CLIMB, x, cost);
+            }
+        }
+    }
+
+    private void addEdge(int from, int to, int type, double x, double cost) {
+        if (edgeCount == edgeTo.length) {
+            edgeTo = Arrays.copyOf(edgeTo, 2 * edgeCount);
+            edgeType = Arrays.copyOf(edgeType, 2 * edgeCount);
+            edgeX = Arrays.copyOf(edgeX, 2 * edgeCount);
+            edgeCost = Arrays.copyOf(edgeCost, 2 * edgeCount);
+        }
+        outEdges.get(from).add(edgeCount);
+        edgeTo[edgeCount] = to;
+        edgeType[edgeCount] = type;
+        edgeX[edgeCount] = x;
+        edgeCost[edgeCount] = cost;
+        edgeCount++;
+    }
+
+    /**
+     * shortest paths from one node to all others (Dijkstra), recording the first edge of each path
+     */
+    private void findPaths(int from) {
+        int count = platforms.length;
+        double[] distance = new double[count];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[from] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((p, q) -> Double.compare(p[0], q[0]));
+        queue.add(new double[]{0, from});
+        while (!queue.isEmpty()) {
+            double[] entry = queue.poll();
+            int node = (int) entry[1];
+            if (entry[0] > distance[node]) {
+                continue;
+            }
+            for (int edge : outEdges.get(node)) {
+                int to = edgeTo[edge];
+                double newDistance = distance[node] + edgeCost[edge];
+                if (newDistance < distance[to]) {
+                    distance[to] = newDistance;
+                    // leaving the start, the path begins with this edge; otherwise with the one reaching node
+                    firstEdge[from * count + to] = node == from ? edge : firstEdge[from * count + node];
+                    queue.add(new double[]{newDistance, to});
+                }
+            }
+        }
+    }
+
+    /**
+     * get the index of platforms the graph was built from
+     * @return platform index
+     */
+    public PlatformIndex getPlatformIndex() {
+        return platformIndex;
+    }
+
+    /**
+     * get the node of a platform
+     * @param platform platform of the level
+     * @return node, -1 if the platform is not in the graph
+     */
+    public int nodeOf(Platform platform) {
+        Integer node = platform == null ? null : nodes.get(platform);
+        return node == null ? -1 : node;
+    }
+
+    /**
+     * get the platform of a node
+     * @param node node
+     * @return platform
+     */
+    public Platform getPlatform(int node) {
+        return platforms[node];
+    }
+
+    /**
+     * get the first edge to take from one node to reach another, a table lookup
+     * @param from node the body is on
+     * @param to node to reach
+     * @return first edge of the shortest path, -1 if the nodes are the same or not connected
+     */
+    public int getFirstEdge(int from, int to) {
+        return firstEdge[from * platforms.length + to];
+    }
+
+    /**
+     * get the kind of an edge
+     * @param edge edge
+     * @return WALK, CLIMB or DROP
+     */
+    public int getEdgeType(int edge) {
+        return edgeType[edge];
+    }
+
+    /**
+     * get where to walk to on the current platform before taking an edge
+     * @param edge edge
+     * @return x-coordinate
+     */
+    public double getEdgeX(int edge) {
+        return edgeX[edge];
+    }
+
+    /**
+     * get the node an edge leads to
+     * @param edge edge
+     * @return node
+     */
+    public int getEdgeTarget(int edge) {
+        return edgeTo[edge];
+    }
+}
@@ -15,5 +15,19 @@ public interface PhysicsAffected {
     double DONKEY_TERMINAL_VELOCITY = 5.0;
     double MONKEY_TERMINAL_VELOCITY = 5.0;
 
-    void applyGravity(Platform[] platforms);
+    void applyGravity(PlatformIndex platforms);
+
+    /**
+     * check if the entity is asleep: it rests on a platform, so gravity is skipped until it is woken
+     * @return true if asleep; false if gravity is applied every frame
+     */
+    default boolean isSleeping() {
+        return false;
+    }
+
+    /**
+     * wake the entity so gravity applies again, needed when something changed under it
+     */
+    default void wake() {
+    }
 }
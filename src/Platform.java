@@ -3,7 +3,7 @@
  * Platforms provide surfaces for Mario to walk on and interact with.
  */
 public class Platform extends GameEntity{
-    private final static String PLATFORM_IMAGE = "res/platform.png";
+    final static String PLATFORM_IMAGE = "res/platform.png";
 
     /**
      * Constructs a platform at the specified position.
@@ -0,0 +1,297 @@
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * An immutable index over the platforms of a level, built once at level load since platforms never move.
+ * Platforms are grouped into rows by top edge, and sorted by left edge within a row, so finding
+ * the platforms under a box takes two binary searches instead of a scan of every platform.
+ * Queries answer with the first matching platform in level order, as a loop over the array would.
+ */
+public class PlatformIndex {
+    private static final double SLACK = 1; // px of slack on the search ranges, the exact test decides
+
+    private final Platform[] platforms; // platforms in level order
+    private final int[] sortedIndex; // level order index of the platforms sorted by row and left edge
+    private final double[] sortedLeft; // left edge of the sorted platforms
+    private final double[] rowTop; // top edge of each row, increasing
+    private final int[] rowStart; // first sorted platform of each row, with an end marker
+    private final double[] rowMaxWidth; // widest platform of each row
+    private final double maxHeight; // tallest platform
+
+    /**
+     * Constructs the index over the platforms of a level.
+     * @param platforms platforms in level order, null entries are skipped
+     */
+    public PlatformIndex(Platform[] platforms) {
+        this.platforms = platforms;
+        int count = 0;
+        for (Platform platform : platforms) {
+            if (platform != null) {
+                count++;
+            }
+        }
+        Integer[] order = new Integer[count];
+        int k = 0;
+        for (int i = 0; i < platforms.length; i++) {
+            if (platforms[i] != null) {
+                order[k++] = i;
+            }
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingDouble(i -> platforms[i].getTop())
+                .thenComparingDouble(i -> platforms[i].getLeft()));
+
+        sortedIndex = new int[count];
+        sortedLeft = new double[count];
+        int rows = 0;
+        double maxH = 0;
+        for (k = 0; k < count; k++) {
+            Platform platform = platforms[order[k]];
+            sortedIndex[k] = order[k];
+            sortedLeft[k] = platform.getLeft();
+            maxH = Math.max(maxH, platform.getHeight());
+            if (k == 0 || platform.getTop() != platforms[order[k - 1]].getTop()) {
+                rows++;
+            }
+        }
+        maxHeight = maxH;
+        rowTop = new double[rows];
+        rowStart = new int[rows + 1];
+        rowMaxWidth = new double[rows];
+        int row = -1;
+        for (k = 0; k < count; k++) {
+            Platform platform = platforms[sortedIndex[k]];
+            if (row < 0 || platform.getTop() != rowTop[row]) {
+                row++;
+                rowTop[row] = platform.getTop();
+                rowStart[row] = k;
+            }
+            rowMaxWidth[row] = Math.max(rowMaxWidth[row], platform.getWidth());
+        }
+        rowStart[rows] = count;
+    }
+
+    /**
+     * get the indexed platforms
+     * @return platforms in level order
+     */
+    public Platform[] getPlatforms() {
+        return platforms;
+    }
+
+    /**
+     * get number of indexed platforms
+     * @return number of platforms, not counting null entries
+     */
+    public int size() {
+        return sortedIndex.length;
+    }
+
+    /**
+     * find the first platform the entity collides with, used to land falling entities
+     * @param entity entity to check
+     * @return first colliding platform in level order, null if none
+     */
+    public Platform findFirstCollision(GameEntity entity) {
+        int index = findFirst(entity.getLeft(), entity.getTop(), entity.getRight(), entity.getBottom(),
+                entity.getBottom(), Double.POSITIVE_INFINITY);
+        return index < 0 ? null : platforms[index];
+    }
+
+    /**
+     * find the platform a falling entity lands on after moving down from fromY: the first platform it
+     * collides with, or if it collides with none, the first platform whose top edge its bottom edge crossed
+     * on the way (swept test), so a body moving more than a platform's height in one tick cannot fall through
+     * @param entity entity to check, already moved
+     * @param fromY y-coordinate of the entity before it moved
+     * @return platform to land on, null if none
+     */
+    public Platform findFirstCollision(GameEntity entity, double fromY) {
+        Platform platform = findFirstCollision(entity);
+        return platform != null ? platform : findCrossed(entity, fromY);
+    }
+
+    /**
+     * find the platform mario lands on after moving down from fromY: the first platform he collides with
+     * whose top edge is at most the tolerance above his bottom edge, or if none, the first platform whose
+     * top edge his bottom edge crossed on the way (swept test)
+     * @param entity entity to check, already moved
+     * @param tolerance how far the entity's bottom may be below the platform's top
+     * @param fromY y-coordinate of the entity before it moved
+     * @return platform to land on, null if none
+     */
+    public Platform findLanding(GameEntity entity, double tolerance, double fromY) {
+        Platform platform = findLanding(entity, tolerance);
+        return platform != null ? platform : findCrossed(entity, fromY);
+    }
+
+    /**
+     * find the first platform whose top edge the bottom edge of the entity crossed moving down from fromY,
+     * while overlapping it horizontally; a swept box test where the time of impact of a platform
+     * only depends on its top edge, so the row with the highest top is hit first
+     * @return first crossed platform, in level order within the row, null if none or not moving down
+     */
+    private Platform findCrossed(GameEntity entity, double fromY) {
+        double bottom = entity.getBottom();
+        return findCrossed(entity.getLeft(), entity.getRight(), bottom - (entity.y - fromY), bottom);
+    }
+
+    /**
+     * find the first platform whose top edge is in [fromBottom, bottom) overlapping [left, right] horizontally
+     * @return first such platform, in level order within the row with the highest top, null if none
+     */
+    private Platform findCrossed(double left, double right, double fromBottom, double bottom) {
+        for (int row = firstRowFrom(fromBottom); row < rowTop.length && rowTop[row] < bottom; row++) {
+            int first = -1;
+            int end = rowStart[row + 1];
+            for (int k = firstLeftFrom(row, left - rowMaxWidth[row] - SLACK); k < end && sortedLeft[k] < right; k++) {
+                int index = sortedIndex[k];
+                Platform platform = platforms[index];
+                if ((first < 0 || index < first) && platform.getLeft() < right && platform.getRight() > left) {
+                    first = index;
+                }
+            }
+            if (first >= 0) {
+                return platforms[first];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * find the platform a box falling straight down from where it is comes to rest on:
+     * the first one it overlaps, otherwise the first one below it
+     * @param minX left edge of the box
+     * @param minY top edge of the box
+     * @param maxX right edge of the box
+     * @param maxY bottom edge of the box
+     * @return platform it rests on, null if it falls out of the world
+     */
+    public Platform findRestingPlace(double minX, double minY, double maxX, double maxY) {
+        int index = findFirst(minX, minY, maxX, maxY, maxY, Double.POSITIVE_INFINITY);
+        return index >= 0 ? platforms[index] : findCrossed(minX, maxX, maxY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * find the first platform the entity collides with whose top edge is at most
+     * the given tolerance above the entity's bottom edge, used to land mario
+     * @param entity entity to check
+     * @param tolerance how far the entity's bottom may be below the platform's top
+     * @return first such platform in level order, null if none
+     */
+    public Platform findLanding(GameEntity entity, double tolerance) {
+        int index = findFirst(entity.getLeft(), entity.getTop(), entity.getRight(), entity.getBottom(),
+                entity.getBottom(), tolerance);
+        return index < 0 ? null : platforms[index];
+    }
+
+    /**
+     * check if any platform overlaps the given box
+     * @param minX left edge of the box
+     * @param minY top edge of the box
+     * @param maxX right edge of the box
+     * @param maxY bottom edge of the box
+     * @return true if a platform overlaps the box; false otherwise
+     */
+    public boolean isAnyOverlap(double minX, double minY, double maxX, double maxY) {
+        return findFirst(minX, minY, maxX, maxY, maxY, Double.POSITIVE_INFINITY) >= 0;
+    }
+
+    /**
+     * find the walkway under a foot: the platforms crossing a thin horizontal strip that a 1 px wide box
+     * at footX on the strip overlaps, merged with every platform on the strip overlapping them, so that
+     * the box overlaps a platform at any x where it overlaps the walkway, found as it would be by
+     * {@link #isAnyOverlap} for each x
+     * @param footX left edge of the foot box
+     * @param minY top edge of the strip
+     * @param maxY bottom edge of the strip
+     * @param walkway set to the left edge of the leftmost and the right edge of the rightmost platform of the walkway
+     * @return true if found; false if the box overlaps no platform, walkway is left unchanged
+     */
+    public boolean findWalkway(double footX, double minY, double maxY, double[] walkway) {
+        int firstRow = firstRowFrom(minY - maxHeight - SLACK);
+        double left = Double.NaN;
+        double right = Double.NaN;
+        boolean isExtended = true;
+        // the platforms under the foot first, then grow the walkway until no platform extends it
+        while (isExtended) {
+            isExtended = false;
+            for (int row = firstRow; row < rowTop.length && rowTop[row] < maxY; row++) {
+                for (int k = rowStart[row]; k < rowStart[row + 1]; k++) {
+                    Platform platform = platforms[sortedIndex[k]];
+                    if (platform.getTop() >= maxY || platform.getBottom() <= minY) {
+                        continue;
+                    }
+                    boolean isJoined = Double.isNaN(left) ?
+                            platform.getLeft() < footX + 1 && platform.getRight() > footX :
+                            platform.getLeft() < right + 1 && platform.getRight() + 1 > left;
+                    if (isJoined && !(platform.getLeft() >= left && platform.getRight() <= right)) {
+                        left = Double.isNaN(left) ? platform.getLeft() : Math.min(left, platform.getLeft());
+                        right = Double.isNaN(right) ? platform.getRight() : Math.max(right, platform.getRight());
+                        isExtended = true;
+                    }
+                }
+            }
+        }
+        if (Double.isNaN(left)) {
+            return false;
+        }
+        walkway[0] = left;
+        walkway[1] = right;
+        return true;
+    }
+
+    /**
+     * find the first platform in level order overlapping the box, with bottom <= its top + tolerance
+     * @return level order index of the platform, -1 if none
+     */
+    private int findFirst(double minX, double minY, double maxX, double maxY, double bottom, double tolerance) {
+        int first = -1;
+        // rows whose platforms can reach down into the box
+        for (int row = firstRowFrom(minY - maxHeight - SLACK); row < rowTop.length && rowTop[row] < maxY; row++) {
+            int end = rowStart[row + 1];
+            for (int k = firstLeftFrom(row, minX - rowMaxWidth[row] - SLACK); k < end && sortedLeft[k] < maxX; k++) {
+                int index = sortedIndex[k];
+                Platform platform = platforms[index];
+                if ((first < 0 || index < first) && platform.intersects(minX, minY, maxX, maxY)
+                        && bottom <= platform.getTop() + tolerance) {
+                    first = index;
+                }
+            }
+        }
+        return first;
+    }
+
+    /**
+     * binary search the first row whose top edge is at least the given value
+     */
+    private int firstRowFrom(double top) {
+        int low = 0;
+        int high = rowTop.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rowTop[mid] < top) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * binary search the first platform of a row whose left edge is at least the given value
+     */
+    private int firstLeftFrom(int row, double left) {
+        int low = rowStart[row];
+        int high = rowStart[row + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedLeft[mid] < left) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -3,20 +3,40 @@
  * move horizontally  and inactive when out of bounds or exceeding a maximum distance
  */
 public abstract class Projectile extends GameEntity implements HorizontallyMovable{
-    private double OUTOFSCREEN = -10000;
     private boolean isRight;
     private boolean isActive = true;
+    private final GameSession session; // game session the projectile flies in, for the screen bounds
 
     /**
      * Constructs a new Projectile at the specified position using the given image
      * @param imagePath relative image path
      * @param x Initial x-coordinate.
      * @param y Initial y-coordinate.
+     * @param session the game session, giving the screen bounds
      */
-    public Projectile(String imagePath, double x, double y) {
+    public Projectile(String imagePath, double x, double y, GameSession session) {
         super(imagePath, x, y);
+        this.session = session;
     }
 
+    /**
+     * reset the projectile to the state it was constructed in, so a pooled projectile can be fired again
+     * @param x Initial x-coordinate.
+     * @param y Initial y-coordinate.
+     */
+    public void reset(double x, double y) {
+        this.x = x;
+        this.y = y;
+        isRight = false;
+        isActive = true;
+        savePosition();
+    }
+
+    /**
+     * move the projectile one tick in its direction of travel, deactivating it out of range
+     */
+    public abstract void update();
+
     /**
      * deactive the projectile when travel exceed max dist
      * @param distTravel distanve traveled so far
@@ -34,10 +54,9 @@ public abstract class Projectile extends GameEntity implements HorizontallyMovab
      */
     @Override
     public void draw(){
-        if (!isActive){
-            x = OUTOFSCREEN;
+        if (isActive){
+            currentImage.draw(x, y);
         }
-        currentImage.draw(x, y);
     }
 
     /**
@@ -53,7 +72,7 @@ public abstract class Projectile extends GameEntity implements HorizontallyMovab
      * @param isRight new setting direction of travel of projectile
      */
     public void setRight(boolean isRight) {
-        isRight = isRight;
+        this.isRight = isRight;
     }
 
     /**
@@ -79,7 +98,7 @@ public abstract class Projectile extends GameEntity implements HorizontallyMovab
     @Override
     public void enforceBoundaries() {
         // ensure not travel outside of the screen
-        if (x < 0 || x > ShadowDonkeyKong.getScreenWidth()){
+        if (x < 0 || x > session.getWorldWidth()){
             setActive(false);
         }
     }
@@ -0,0 +1,79 @@
+/**
+ * a bounded pool of projectiles, so firing and expiring them allocates nothing once it is warm.
+ * Projectiles leaving play are recycled here and reset when fired again, keeping their sprites;
+ * those beyond the capacity of the pool are released to the sprite registry instead.
+ * @param <T> type of the pooled projectiles
+ */
+public class ProjectilePool<T extends Projectile> {
+    /**
+     * creates a new projectile when the pool is empty
+     * @param <T> type of the projectile
+     */
+    public interface Factory<T extends Projectile> {
+        T create(double x, double y);
+    }
+
+    private final Factory<T> factory;
+    private final Projectile[] free; // recycled projectiles, from index 0 to freeCount
+    private int freeCount = 0;
+
+    /**
+     * @param factory creates projectiles when none can be reused
+     * @param capacity maximum number of recycled projectiles kept
+     */
+    public ProjectilePool(Factory<T> factory, int capacity) {
+        this.factory = factory;
+        this.free = new Projectile[capacity];
+    }
+
+    /**
+     * get an active projectile at the given position, reused from the pool if any
+     * @param x Initial x-coordinate.
+     * @param y Initial y-coordinate.
+     * @return the projectile, as if it was just constructed
+     */
+    @SuppressWarnings("unchecked")
+    public T obtain(double x, double y) {
+        if (freeCount == 0) {
+            T projectile = factory.create(x, y);
+            GameEvents.projectileSpawn(projectile, false);
+            return projectile;
+        }
+        T projectile = (T) free[--freeCount];
+        free[freeCount] = null;
+        projectile.reset(x, y);
+        GameEvents.projectileSpawn(projectile, true);
+        return projectile;
+    }
+
+    /**
+     * recycle a projectile that left play, or release it when the pool is full
+     * @param projectile projectile no longer used by the game
+     */
+    public void recycle(T projectile) {
+        if (freeCount < free.length) {
+            free[freeCount++] = projectile;
+        } else {
+            projectile.release();
+        }
+    }
+
+    /**
+     * get number of projectiles waiting to be reused
+     * @return number of recycled projectiles
+     */
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * release the sprites of all recycled projectiles and empty the pool
+     */
+    public void release() {
+        for (int i = 0; i < freeCount; i++) {
+            free[i].release();
+            free[i] = null;
+        }
+        freeCount = 0;
+    }
+}
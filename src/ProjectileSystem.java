@@ -0,0 +1,115 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All projectiles of one kind in play. Each tick every projectile is moved once, tested against its
+ * targets once, and retired to the pool as soon as it is no longer active, in a single pass over them,
+ * so the cost of a tick grows with the number of projectiles only.
+ * @param <T> type of the projectiles
+ */
+public class ProjectileSystem<T extends Projectile> {
+    /**
+     * tests a moved projectile against its targets, deactivating it when it hits one
+     * @param <T> type of the projectile
+     */
+    public interface HitTest<T extends Projectile> {
+        void hit(T projectile);
+    }
+
+    private final ProjectilePool<T> pool; // recycled projectiles, fired again instead of constructing new ones
+    private final ArrayList<T> projectiles = new ArrayList<>(); // projectiles in play, retired ones swapped out
+
+    /**
+     * @param factory creates projectiles when none can be reused
+     * @param capacity maximum number of recycled projectiles kept
+     */
+    public ProjectileSystem(ProjectilePool.Factory<T> factory, int capacity) {
+        this.pool = new ProjectilePool<>(factory, capacity);
+    }
+
+    /**
+     * put a projectile in play, it starts moving on the next update
+     * @param x Initial x-coordinate.
+     * @param y Initial y-coordinate.
+     * @param isRight true to travel right; false to travel left
+     */
+    public void fire(double x, double y, boolean isRight) {
+        T projectile = pool.obtain(x, y);
+        projectile.setRight(isRight);
+        projectiles.add(projectile);
+    }
+
+    /**
+     * move every projectile once, test the active ones against their targets and retire the inactive ones
+     * @param hitTest test against the targets of the projectiles
+     */
+    public void update(HitTest<T> hitTest) {
+        int j = 0;
+        while (j < projectiles.size()) {
+            T projectile = projectiles.get(j);
+            projectile.update();
+            if (projectile.isActive()) {
+                hitTest.hit(projectile);
+            }
+            if (projectile.isActive()) {
+                j++;
+            } else {
+                // move the last projectile, not updated yet, into the place of the retired one
+                pool.recycle(projectile);
+                int last = projectiles.size() - 1;
+                projectiles.set(j, projectiles.get(last));
+                projectiles.remove(last);
+            }
+        }
+    }
+
+    /**
+     * remember the position of every projectile before a tick moves them
+     */
+    public void savePositions() {
+        for (T projectile : projectiles) {
+            projectile.savePosition();
+        }
+    }
+
+    /**
+     * draw every projectile in play
+     * @param alpha interpolation factor from 0 (previous tick) to 1 (current tick)
+     * @param offsetX left edge of the camera view in the world
+     * @param offsetY top edge of the camera view in the world
+     */
+    public void draw(double alpha, double offsetX, double offsetY) {
+        for (T projectile : projectiles) {
+            projectile.draw(alpha, offsetX, offsetY);
+        }
+    }
+
+    /**
+     * get the projectiles in play
+     * @return projectiles, in no particular order
+     */
+    public List<T> getProjectiles() {
+        return projectiles;
+    }
+
+    /**
+     * take every projectile out of play, back to the pool
+     */
+    public void reset() {
+        for (T projectile : projectiles) {
+            pool.recycle(projectile);
+        }
+        projectiles.clear();
+    }
+
+    /**
+     * release the sprites of every projectile, in play or recycled
+     */
+    public void release() {
+        for (T projectile : projectiles) {
+            projectile.release();
+        }
+        projectiles.clear();
+        pool.release();
+    }
+}
@@ -0,0 +1,109 @@
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Watches a properties file for edits while the game runs. Its directory is registered with a
+ * WatchService, which is polled once per frame without blocking; when the file was written, it is read
+ * again and only the keys whose values differ are copied into the live properties and reported,
+ * so a screen can rebuild only what those keys affect.
+ */
+public class PropertiesWatcher {
+    private static final Set<String> NO_KEYS = Set.of();
+
+    private final Path file; // watched properties file
+    private final WatchService watchService; // events of the directory of the file, null if it cannot be watched
+
+    /**
+     * Constructs a watcher, edits made from now on are reported
+     * @param configFile path to the properties file
+     */
+    public PropertiesWatcher(String configFile) {
+        this.file = Paths.get(configFile).toAbsolutePath();
+        WatchService service = null;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            // editors may save by writing the file in place or by replacing it
+            file.getParent().register(service, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            System.out.println("Cannot watch " + configFile + ": " + e.getMessage());
+        }
+        this.watchService = service;
+    }
+
+    /**
+     * check if the file was written since the last poll, and if so copy its changed keys into the properties;
+     * call once per frame, it never blocks
+     * @param props live properties, updated in place
+     * @return keys added, changed or removed, empty if the file was not written or did not change
+     */
+    public Set<String> poll(Properties props) {
+        if (watchService == null || !isFileWritten()) {
+            return NO_KEYS;
+        }
+        Properties newProps = new Properties();
+        try (FileInputStream in = new FileInputStream(file.toFile())) {
+            newProps.load(in);
+        } catch (IOException e) {
+            // the file may be half written or replaced, its next write is picked up
+            return NO_KEYS;
+        }
+        Set<String> changedKeys = new HashSet<>();
+        for (String key : newProps.stringPropertyNames()) {
+            String value = newProps.getProperty(key);
+            if (!value.equals(props.getProperty(key))) {
+                props.setProperty(key, value);
+                changedKeys.add(key);
+            }
+        }
+        for (String key : props.stringPropertyNames()) {
+            if (newProps.getProperty(key) == null) {
+                props.remove(key);
+                changedKeys.add(key);
+            }
+        }
+        return changedKeys;
+    }
+
+    /**
+     * drain the pending events of the directory
+     * @return true if any of them is about the watched file
+     */
+    private boolean isFileWritten() {
+        boolean isWritten = false;
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                // events may be lost when too many come at once, the file may be one of them
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                    isWritten = true;
+                }
+            }
+            key.reset();
+        }
+        return isWritten;
+    }
+
+    /**
+     * stop watching the file
+     */
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                // nothing is watched any more either way
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * integrates gravity in a plain counted loop over the arrays, each line does the same
+ * double operation as the per-object code so the JIT can turn it into SIMD without changing results
+ */
+public class ScalarGravityKernel implements GravityKernel {
+    @Override
+    public void integrate(double[] y, double[] velocityY, int count,
+                          double gravity, double terminalVelocity, boolean isClampedBeforeMove) {
+        // one branch-free loop per order; Math.min is vectorized by the JIT and equals the
+        // "if (v > terminal) v = terminal" of the per-object code, as velocities are never NaN
+        if (isClampedBeforeMove) {
+            for (int i = 0; i < count; i++) {
+                double v = velocityY[i] + gravity;
+                v = Math.min(v, terminalVelocity);
+                velocityY[i] = v;
+                y[i] += v;
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                double v = velocityY[i] + gravity;
+                y[i] += v;
+                velocityY[i] = Math.min(v, terminalVelocity);
+            }
+        }
+    }
+}
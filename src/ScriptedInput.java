@@ -0,0 +1,65 @@
+import bagel.Keys;
+
+/**
+ * A synthetic input source used to drive the game without a window.
+ * Keys can be held or released across frames, and pressed for a single frame.
+ */
+public class ScriptedInput implements GameInput {
+    private final boolean[] down = new boolean[Keys.values().length]; // keys currently held
+    private final boolean[] pressed = new boolean[Keys.values().length]; // keys pressed in this frame
+
+    /**
+     * hold a key down from this frame on, counts as pressed in this frame if it was up
+     * @param key the key to hold
+     */
+    public void hold(Keys key) {
+        if (!down[key.ordinal()]) {
+            pressed[key.ordinal()] = true;
+        }
+        down[key.ordinal()] = true;
+    }
+
+    /**
+     * release a held key
+     * @param key the key to release
+     */
+    public void release(Keys key) {
+        down[key.ordinal()] = false;
+    }
+
+    /**
+     * press and release a key within this frame
+     * @param key the key to press
+     */
+    public void press(Keys key) {
+        pressed[key.ordinal()] = true;
+    }
+
+    /**
+     * release every key
+     */
+    public void releaseAll() {
+        for (int i = 0; i < down.length; i++) {
+            down[i] = false;
+        }
+    }
+
+    /**
+     * end the current frame, presses only last for one frame
+     */
+    public void endFrame() {
+        for (int i = 0; i < pressed.length; i++) {
+            pressed[i] = false;
+        }
+    }
+
+    @Override
+    public boolean isDown(Keys key) {
+        return down[key.ordinal()];
+    }
+
+    @Override
+    public boolean wasPressed(Keys key) {
+        return pressed[key.ordinal()];
+    }
+}
@@ -1,5 +1,7 @@
 import bagel.*;
+import java.util.HashSet;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * The main class for the Shadow Donkey Kong game.
@@ -11,22 +13,43 @@ import java.util.Properties;
  */
 public class ShadowDonkeyKong extends AbstractGame {
 
+    private static final String GAME_PROPS_FILE = "res/app.properties";
     private final Properties GAME_PROPS;
     private final Properties MESSAGE_PROPS;
 
     private HomeScreen homeScreen;
     private GamePlayScreen gamePlayScreen;
     private GameEndScreen gameEndScreen;
+    private final LatchedInput gameInput = new LatchedInput(); // window input passed on to the gameplay
+    // runs the gameplay at a fixed tick rate, a stall of more than a quarter second is dropped
+    private final FixedStepClock clock = new FixedStepClock(GamePlayScreen.TICKS_PER_SECOND,
+            GamePlayScreen.TICKS_PER_SECOND / 4);
+    private final InputRecorder recorder; // records the input of every tick, null unless input.record is set
+    private Level1 level1Screen; // level1 once built, restarted in place when played again
+    private Level2 level2Screen; // level2 once built, restarted in place when played again
+    private AssetPreloader level1Assets; // assets of level1 prepared on the home screen, null once used
+    private AssetPreloader level2Assets; // assets of level2 prepared on the home screen and during level1, null once used
+    private final PropertiesWatcher propertiesWatcher; // reports edits of the level layouts, null unless hotReload
+    // edited keys not applied to each level yet, kept while they fail to parse
+    private final Set<String> level1ReloadKeys = new HashSet<>();
+    private final Set<String> level2ReloadKeys = new HashSet<>();
+    private final FrameProfiler profiler; // times the phases of each frame, records nothing unless profiler.enabled
+    private final Font PROFILER_FONT; // font for the profiler overlay, null unless profiling
+    private final int preloadPhase; // profiler phase of the assets prepared during a gameplay frame
+    private static final int PROFILER_FONT_SIZE = 14;
+    private static final int PROFILER_X = 10; // x-coord of the profiler overlay
+    private static final int PROFILER_Y = 20; // y-coord of the first line of the profiler overlay
 
-    /** screen width of current game */
-    public static double screenWidth;
-    /** screen height of current game */
-    public static double screenHeight;
 
     private final int LEVEL1 = 1;
     private final int LEVEL2 = 2;
 
-    private static int currLevel = -1;
+    // screen names of the screen transition events
+    private static final String HOME_SCREEN = "home";
+    private static final String LEVEL_SCREEN = "level";
+    private static final String END_SCREEN = "end";
+
+    private int currLevel = -1;
     private int score = 0;
 
     /**
@@ -45,10 +68,163 @@ public class ShadowDonkeyKong extends AbstractGame {
 
         this.GAME_PROPS = gameProps;
         this.MESSAGE_PROPS = messageProps;
-        this.screenWidth = Integer.parseInt(gameProps.getProperty("window.width"));
-        this.screenHeight = Integer.parseInt(gameProps.getProperty("window.height"));
 
         homeScreen = new HomeScreen(GAME_PROPS, MESSAGE_PROPS);
+        String recordPath = gameProps.getProperty("input.record", "");
+        this.recorder = recordPath.isEmpty() ? null : new InputRecorder(recordPath);
+        boolean isHotReloaded = Boolean.parseBoolean(gameProps.getProperty("hotReload", "false"));
+        this.propertiesWatcher = isHotReloaded ? new PropertiesWatcher(GAME_PROPS_FILE) : null;
+        boolean isProfiled = Boolean.parseBoolean(gameProps.getProperty("profiler.enabled", "false"));
+        this.profiler = isProfiled ? new FrameProfiler(true) : FrameProfiler.NONE;
+        this.PROFILER_FONT = isProfiled ? new Font(gameProps.getProperty("font"), PROFILER_FONT_SIZE) : null;
+        this.preloadPhase = profiler.phase("preload");
+        startPreloading();
+    }
+
+    /**
+     * start preparing the assets of both levels not built yet, either may be picked on the home screen
+     */
+    private void startPreloading() {
+        if (level1Screen == null) {
+            level1Assets = new AssetPreloader(GAME_PROPS, LEVEL1);
+        }
+        if (level2Screen == null) {
+            level2Assets = new AssetPreloader(GAME_PROPS, LEVEL2);
+        }
+    }
+
+    /**
+     * get a level ready to play: built from its prepared assets the first time,
+     * restarted in place from its starting state afterwards
+     * @param level level number
+     * @param startedScore initial score of game
+     * @return the level
+     */
+    private GamePlayScreen openLevel(int level, int startedScore) {
+        GamePlayScreen screen;
+        if (level == LEVEL1) {
+            if (level1Screen == null) {
+                level1Screen = new Level1(GAME_PROPS, level, startedScore, level1Assets.getLevelData());
+                level1Assets.release();
+                level1Assets = null;
+            } else {
+                level1Screen.reset(startedScore);
+            }
+            screen = level1Screen;
+        } else {
+            if (level2Screen == null) {
+                level2Screen = new Level2(GAME_PROPS, level, startedScore, level2Assets.getLevelData());
+                level2Assets.release();
+                level2Assets = null;
+            } else {
+                level2Screen.reset(startedScore);
+            }
+            screen = level2Screen;
+        }
+        screen.setProfiler(profiler);
+        return screen;
+    }
+
+    /**
+     * prepare a few more assets of the levels that may come next, once per frame
+     */
+    private void stepPreloading() {
+        if (level1Assets != null) {
+            level1Assets.step();
+        }
+        if (level2Assets != null) {
+            level2Assets.step();
+        }
+    }
+
+    /**
+     * give back the sprites held for levels that will not be played
+     */
+    private void releasePreloading() {
+        if (level1Assets != null) {
+            level1Assets.release();
+            level1Assets = null;
+        }
+        if (level2Assets != null) {
+            level2Assets.release();
+            level2Assets = null;
+        }
+    }
+
+    /**
+     * apply the edits of the properties file made since the last frame to the levels built so far,
+     * and prepare again the levels not built yet, if hot reloading
+     */
+    private void hotReload() {
+        if (propertiesWatcher == null) {
+            return;
+        }
+        Set<String> changedKeys = propertiesWatcher.poll(GAME_PROPS);
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        level1ReloadKeys.addAll(changedKeys);
+        level2ReloadKeys.addAll(changedKeys);
+        reloadLevel(LEVEL1, level1ReloadKeys);
+        reloadLevel(LEVEL2, level2ReloadKeys);
+    }
+
+    /**
+     * apply the edited keys to one level, built or being prepared; the keys are cleared once the level
+     * applied them, so a failure of the other level does not make this one rebuild them again
+     * @param level level number
+     * @param reloadKeys edited keys not applied to the level yet
+     */
+    private void reloadLevel(int level, Set<String> reloadKeys) {
+        GamePlayScreen screen = level == LEVEL1 ? level1Screen : level2Screen;
+        AssetPreloader assets = level == LEVEL1 ? level1Assets : level2Assets;
+        try {
+            if (screen != null) {
+                screen.reload(reloadKeys);
+            } else if (assets != null) {
+                // a level not built yet is prepared again from its new layout, once it loads
+                LevelData levelData = LevelData.load(GAME_PROPS, level);
+                assets.release();
+                if (level == LEVEL1) {
+                    level1Assets = new AssetPreloader(GAME_PROPS, level, levelData);
+                } else {
+                    level2Assets = new AssetPreloader(GAME_PROPS, level, levelData);
+                }
+            }
+            // a level neither built nor prepared is prepared from the properties as they are when it is
+            reloadKeys.clear();
+        } catch (RuntimeException e) {
+            // a half-edited entry leaves the layout as it was, the keys are applied again with the next save
+            System.out.println("Cannot reload " + GAME_PROPS_FILE + ": " + e);
+        }
+    }
+
+    /**
+     * write the frame phase latencies of the game played so far and start over, if profiling
+     */
+    private void reportProfile() {
+        if (profiler.isEnabled()) {
+            profiler.report(System.out);
+            profiler.reset();
+        }
+    }
+
+    /**
+     * start recording the input of a new level, if recording
+     */
+    private void recordLevel(int startedScore) {
+        if (recorder != null) {
+            recorder.startLevel(currLevel, startedScore);
+        }
+    }
+
+    /**
+     * write out and close the input log, if recording
+     */
+    private void stopRecording() {
+        if (recorder != null) {
+            recorder.close();
+        }
     }
 
     /**
@@ -58,23 +234,67 @@ public class ShadowDonkeyKong extends AbstractGame {
     @Override
     protected void update(Input input) {
         if (input.wasPressed(Keys.ESCAPE)) {
+            stopRecording();
+            if (propertiesWatcher != null) {
+                propertiesWatcher.close();
+            }
+            if (gamePlayScreen != null) {
+                reportProfile();
+            }
             Window.close();
         }
+        hotReload();
         int levelSelect = homeScreen.update(input);
         // Home Screen
         if (gamePlayScreen == null && gameEndScreen == null) {
+            // levels are built from the assets prepared while the home screen is shown, level2 keeps
+            // preparing during level1
             if (levelSelect == 1) {
                 currLevel = 1;
-                gamePlayScreen = new Level1(GAME_PROPS, currLevel, 0);
+                gamePlayScreen = openLevel(currLevel, 0);
             } else if (levelSelect == 2) {
                 currLevel = 2;
-                gamePlayScreen = new Level2(GAME_PROPS, currLevel, 0);
+                gamePlayScreen = openLevel(currLevel, 0);
+                releasePreloading();
+            } else {
+                stepPreloading();
+            }
+            // the first tick runs one tick length after the level appears
+            clock.reset(System.nanoTime());
+            if (gamePlayScreen != null) {
+                recordLevel(0);
+                GameEvents.screenTransition(HOME_SCREEN, LEVEL_SCREEN + currLevel, 0);
             }
         }
         // Gameplay Screen
         else if (gamePlayScreen != null && gameEndScreen == null) {
+            // Run the ticks due in this frame, then draw between the last two
+            GameEvents.SlowFrame frame = new GameEvents.SlowFrame();
+            frame.begin();
+            profiler.startFrame();
+            if (input.wasPressed(Keys.F3) && profiler.isEnabled()) {
+                profiler.toggleOverlay();
+            }
+            gameInput.latch(input);
+            stepPreloading();
+            profiler.lap(preloadPhase);
+            boolean isEnded = false;
+            int steps = clock.advance(System.nanoTime());
+            for (int i = 0; i < steps && !isEnded; i++) {
+                isEnded = gamePlayScreen.tick(recorder != null ? recorder.record(gameInput) : gameInput);
+                gameInput.endTick();
+            }
+            gamePlayScreen.render(clock.getAlpha());
+            profiler.drawOverlay(PROFILER_FONT, PROFILER_X, PROFILER_Y);
+            profiler.endFrame();
+            frame.level = currLevel;
+            frame.ticks = steps;
+            frame.commit();
             // The gameplay ended
-            if (gamePlayScreen.update(input)) {
+            if (isEnded) {
+                if (recorder != null) {
+                    recorder.flush();
+                }
                 boolean isWon = gamePlayScreen.isLevelCompleted();
                 // 1) GET THE SCORE
                 int finalScore = gamePlayScreen.getStartedScore();
@@ -82,47 +302,42 @@ public class ShadowDonkeyKong extends AbstractGame {
                 if (currLevel == LEVEL1 && isWon){
                     currLevel = LEVEL2;
                     score += finalScore;
-                    gamePlayScreen = new Level2(GAME_PROPS, currLevel, score);
+                    // level1 is kept to be restarted in place if played again
+                    gamePlayScreen = openLevel(currLevel, score);
+                    // building level2 is not game time, its first tick runs one tick length after it appears
+                    clock.reset(System.nanoTime());
+                    recordLevel(score);
+                    GameEvents.screenTransition(LEVEL_SCREEN + LEVEL1, LEVEL_SCREEN + LEVEL2, score);
                 }
                 else{
+                    reportProfile();
+                    GameEvents.screenTransition(LEVEL_SCREEN + currLevel, END_SCREEN, finalScore);
                     // 2) CREATE THE END SCREEN
                     gameEndScreen = new GameEndScreen(GAME_PROPS, MESSAGE_PROPS);
                     // 3) PASS finalScore
                     gameEndScreen.setIsWon(isWon);
                     gameEndScreen.setFinalScore(timeRemaining, finalScore);
-                    // 4) Nullify gameplay
+                    // 4) Nullify gameplay, the level is kept to be restarted in place if played again,
+                    // and drop the sprites prepared for level2
+                    releasePreloading();
                     gamePlayScreen = null;
+                    SpriteRegistry.evictUnused();
                 }
             }
         }
         // Game Over / Victory Screen
         else if (gamePlayScreen == null ) {
             if (gameEndScreen.update(input)) {
+                GameEvents.screenTransition(END_SCREEN, HOME_SCREEN, 0);
+                gameEndScreen.release();
                 gamePlayScreen = null;
                 gameEndScreen = null;
                 score = 0;
+                startPreloading();
             }
         }
     }
 
-    /**
-     * Retrieves the width of the game screen.
-     *
-     * @return The width of the screen in pixels.
-     */
-    public static double getScreenWidth() {
-        return screenWidth;
-    }
-
-    /**
-     * Retrieves the height of the game screen.
-     *
-     * @return The height of the screen in pixels.
-     */
-    public static double getScreenHeight() {
-        return screenHeight;
-    }
-
     /**
      * The main entry point of the Shadow Donkey Kong game.
      *
@@ -132,10 +347,15 @@ public class ShadowDonkeyKong extends AbstractGame {
      * @param args Command-line arguments (not used in this game).
      */
     public static void main(String[] args) {
-        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        Properties gameProps = IOUtils.readPropertiesFile(GAME_PROPS_FILE);
         Properties messageProps = IOUtils.readPropertiesFile("res/message.properties");
         ShadowDonkeyKong game = new ShadowDonkeyKong(gameProps, messageProps);
-        game.run();
+        try {
+            game.run();
+        } finally {
+            // the window may be closed without ESC, or the game may fail, the recorded input is kept
+            game.stopRecording();
+        }
     }
 }
 
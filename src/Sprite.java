@@ -0,0 +1,103 @@
+import bagel.Image;
+
+/**
+ * Represents an image used to draw a game entity, together with its size.
+ * Sprites are shared between entities through the SpriteRegistry.
+ * In headless mode no bagel Image (and so no window or GL texture) is created:
+ * the size is read from the image file header and drawing does nothing.
+ */
+public class Sprite {
+    private static boolean isHeadless = false; // true when the game runs without a window
+
+    private final Image image; // bagel image, null in headless mode
+    private final double width; // width of the image in px
+    private final double height; // height of the image in px
+    private int refCount = 0; // number of users holding this sprite from the registry
+
+    /**
+     * Constructs a sprite from the image at the given path
+     * @param imagePath relative file path of the image
+     */
+    public Sprite(String imagePath) {
+        if (isHeadless) {
+            int[] size = IOUtils.readImageSize(imagePath);
+            this.image = null;
+            this.width = size[0];
+            this.height = size[1];
+        } else {
+            this.image = new Image(imagePath);
+            this.width = image.getWidth();
+            this.height = image.getHeight();
+        }
+    }
+
+    /**
+     * draw the image centred at the given coordinate, nothing is drawn in headless mode
+     * @param x x-coordinate of the image centre
+     * @param y y-coordinate of the image centre
+     */
+    public void draw(double x, double y) {
+        if (image != null) {
+            image.draw(x, y);
+        }
+    }
+
+    /**
+     * draw the image with its top left corner at the given coordinate
+     * @param x x-coordinate of the top left corner
+     * @param y y-coordinate of the top left corner
+     */
+    public void drawFromTopLeft(double x, double y) {
+        if (image != null) {
+            image.drawFromTopLeft(x, y);
+        }
+    }
+
+    /**
+     * get width of the image
+     * @return width of the image in px
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * get height of the image
+     * @return height of the image in px
+     */
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * get number of users holding this sprite from the registry
+     * @return reference count of the sprite
+     */
+    public int getRefCount() {
+        return refCount;
+    }
+
+    /**
+     * set number of users holding this sprite, only used by the registry
+     * @param refCount new reference count of the sprite
+     */
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    /**
+     * check if sprites are created without a window
+     * @return true: headless; false: drawn on the bagel window
+     */
+    public static boolean isHeadless() {
+        return isHeadless;
+    }
+
+    /**
+     * set whether sprites created from now on are headless
+     * @param headless true to create sprites without a window
+     */
+    public static void setHeadless(boolean headless) {
+        isHeadless = headless;
+    }
+}
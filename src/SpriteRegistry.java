@@ -0,0 +1,61 @@
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * A process-wide registry of sprites keyed by image path.
+ * Every image is loaded once and shared by all entities drawing it, each entity acquires the
+ * sprites it uses and releases them once it is removed from the game. Sprites no longer used by
+ * any entity stay loaded, so spawning more entities costs no file I/O, until they are evicted.
+ */
+public class SpriteRegistry {
+    private static final HashMap<String, Sprite> SPRITES = new HashMap<>(); // loaded sprites by image path
+
+    /**
+     * get the shared sprite for an image, loading it on first use
+     * @param imagePath relative file path of the image
+     * @return the shared sprite of the image
+     */
+    public static synchronized Sprite acquire(String imagePath) {
+        Sprite sprite = SPRITES.get(imagePath);
+        if (sprite == null) {
+            sprite = new Sprite(imagePath);
+            SPRITES.put(imagePath, sprite);
+        }
+        sprite.setRefCount(sprite.getRefCount() + 1);
+        return sprite;
+    }
+
+    /**
+     * give back a sprite acquired from the registry
+     * @param sprite the sprite no longer used by the caller
+     */
+    public static synchronized void release(Sprite sprite) {
+        if (sprite.getRefCount() > 0) {
+            sprite.setRefCount(sprite.getRefCount() - 1);
+        }
+    }
+
+    /**
+     * drop every sprite no longer used by any entity, e.g. after a level is discarded
+     * @return number of sprites dropped
+     */
+    public static synchronized int evictUnused() {
+        int evicted = 0;
+        Iterator<Sprite> iterator = SPRITES.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getRefCount() == 0) {
+                iterator.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * get number of sprites currently loaded
+     * @return number of loaded sprites
+     */
+    public static synchronized int size() {
+        return SPRITES.size();
+    }
+}
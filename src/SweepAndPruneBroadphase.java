@@ -0,0 +1,123 @@
+import java.util.List;
+
+/**
+ * A broadphase that keeps entities sorted by the left edge of their bounding box.
+ * A query binary searches the entities whose x range can reach the box and checks only those.
+ * Entities move little between frames, so rebuilding re-sorts the previous order by insertion,
+ * falling back to a merge sort when the order changed a lot. All arrays are reused between frames.
+ * @param <T> type of the indexed game entities
+ */
+public class SweepAndPruneBroadphase<T extends GameEntity> extends BaseBroadphase<T> {
+    private static final int MAX_SHIFTS_PER_ENTITY = 8; // insertion sort budget before a full sort
+
+    private int[] order = new int[0]; // entity indices sorted by left edge
+    private int[] scratch = new int[0]; // merge sort buffer
+    private double[] leftOf = new double[0]; // left edge of each entity by index
+    private double[] sortedLefts = new double[0]; // left edges in sorted order, for binary search
+    private int count = 0;
+    private double maxWidth = 0; // widest entity, bounds how far left an overlapping entity can start
+
+    @Override
+    public void build(List<T> entities) {
+        this.entities = entities;
+        int newCount = entities.size();
+        if (leftOf.length < newCount) {
+            order = new int[newCount];
+            scratch = new int[newCount];
+            leftOf = new double[newCount];
+            sortedLefts = new double[newCount];
+        }
+        boolean isSameEntities = newCount == count;
+        count = newCount;
+        maxWidth = 0;
+        for (int i = 0; i < count; i++) {
+            T entity = entities.get(i);
+            leftOf[i] = entity.getLeft();
+            maxWidth = Math.max(maxWidth, entity.getRight() - entity.getLeft());
+        }
+        if (!isSameEntities || !insertionSort()) {
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            mergeSort(0, count);
+        }
+        for (int k = 0; k < count; k++) {
+            sortedLefts[k] = leftOf[order[k]];
+        }
+    }
+
+    @Override
+    public int query(double minX, double minY, double maxX, double maxY) {
+        clearCandidates();
+        // an overlapping entity starts after minX - maxWidth and before maxX
+        int from = firstLeftAtLeast(minX - maxWidth);
+        for (int k = from; k < count && sortedLefts[k] <= maxX; k++) {
+            addIfOverlap(order[k], minX, minY, maxX, maxY);
+        }
+        return finishQuery(false);
+    }
+
+    /**
+     * binary search the first sorted entity whose left edge is at least the given value
+     */
+    private int firstLeftAtLeast(double value) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedLefts[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * re-sort the previous order by insertion, gives up once the order changed too much
+     * @return true if sorted; false if a full sort is needed
+     */
+    private boolean insertionSort() {
+        long budget = (long) count * MAX_SHIFTS_PER_ENTITY;
+        for (int k = 1; k < count; k++) {
+            int index = order[k];
+            double left = leftOf[index];
+            int j = k - 1;
+            while (j >= 0 && leftOf[order[j]] > left) {
+                order[j + 1] = order[j];
+                j--;
+                if (--budget < 0) {
+                    return false;
+                }
+            }
+            order[j + 1] = index;
+        }
+        return true;
+    }
+
+    /**
+     * stable merge sort of order[from, to) by left edge
+     */
+    private void mergeSort(int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(from, mid);
+        mergeSort(mid, to);
+        if (leftOf[order[mid - 1]] <= leftOf[order[mid]]) {
+            return;
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && leftOf[scratch[i]] <= leftOf[scratch[j]])) {
+                order[k] = scratch[i++];
+            } else {
+                order[k] = scratch[j++];
+            }
+        }
+    }
+}
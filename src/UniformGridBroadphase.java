@@ -0,0 +1,135 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A broadphase that buckets entities into a uniform grid of square cells.
+ * Cells are hashed into a table sized to the number of entities, so the grid is unbounded and
+ * entities far off the screen cost nothing extra. All arrays are reused between frames.
+ * @param <T> type of the indexed game entities
+ */
+public class UniformGridBroadphase<T extends GameEntity> extends BaseBroadphase<T> {
+    private static final double DEFAULT_CELL_SIZE = 64; // about twice the size of a monkey or barrel
+    private static final int MIN_TABLE_SIZE = 16;
+
+    private final double cellSize;
+    private int tableMask = 0; // table size - 1, the table size is a power of 2
+    private int[] cellStart = new int[MIN_TABLE_SIZE + 1]; // start of each hashed cell in cellEntries
+    private int[] cellFill = new int[MIN_TABLE_SIZE]; // next free slot of each hashed cell while building
+    private int[] cellEntries = new int[0]; // entity indices grouped by hashed cell
+    private int[] lastQuery = new int[0]; // last query that saw each entity, to report it only once
+    private int queryCount = 0;
+
+    /**
+     * Constructs a grid with cells about twice the size of a monkey or barrel.
+     */
+    public UniformGridBroadphase() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructs a grid with the given cell size.
+     * @param cellSize width and height of a cell in px
+     */
+    public UniformGridBroadphase(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    @Override
+    public void build(List<T> entities) {
+        this.entities = entities;
+        int count = entities.size();
+        int tableSize = MIN_TABLE_SIZE;
+        while (tableSize < count * 2) {
+            tableSize *= 2;
+        }
+        tableMask = tableSize - 1;
+        if (cellStart.length < tableSize + 1) {
+            cellStart = new int[tableSize + 1];
+            cellFill = new int[tableSize];
+        }
+        if (lastQuery.length < count) {
+            lastQuery = new int[count];
+            queryCount = 0;
+        }
+        Arrays.fill(cellStart, 0, tableSize + 1, 0);
+        // 1) count entries per hashed cell
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            T entity = entities.get(i);
+            int minCellX = cell(entity.getLeft());
+            int maxCellX = cell(entity.getRight());
+            int minCellY = cell(entity.getTop());
+            int maxCellY = cell(entity.getBottom());
+            for (int cx = minCellX; cx <= maxCellX; cx++) {
+                for (int cy = minCellY; cy <= maxCellY; cy++) {
+                    cellStart[hash(cx, cy) + 1]++;
+                    total++;
+                }
+            }
+        }
+        // 2) turn counts into start offsets
+        for (int h = 0; h < tableSize; h++) {
+            cellStart[h + 1] += cellStart[h];
+            cellFill[h] = cellStart[h];
+        }
+        if (cellEntries.length < total) {
+            cellEntries = new int[total];
+        }
+        // 3) place entity indices, in increasing order within each cell
+        for (int i = 0; i < count; i++) {
+            T entity = entities.get(i);
+            int minCellX = cell(entity.getLeft());
+            int maxCellX = cell(entity.getRight());
+            int minCellY = cell(entity.getTop());
+            int maxCellY = cell(entity.getBottom());
+            for (int cx = minCellX; cx <= maxCellX; cx++) {
+                for (int cy = minCellY; cy <= maxCellY; cy++) {
+                    cellEntries[cellFill[hash(cx, cy)]++] = i;
+                }
+            }
+        }
+    }
+
+    @Override
+    public int query(double minX, double minY, double maxX, double maxY) {
+        clearCandidates();
+        if (queryCount == Integer.MAX_VALUE) {
+            Arrays.fill(lastQuery, 0);
+            queryCount = 0;
+        }
+        queryCount++;
+        int minCellX = cell(minX);
+        int maxCellX = cell(maxX);
+        int minCellY = cell(minY);
+        int maxCellY = cell(maxY);
+        // a box covering more cells than the table has slots sees every entity anyway
+        if ((long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) > tableMask + 1) {
+            for (int i = 0; i < entities.size(); i++) {
+                addIfOverlap(i, minX, minY, maxX, maxY);
+            }
+            return finishQuery(true);
+        }
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                int h = hash(cx, cy);
+                for (int k = cellStart[h]; k < cellStart[h + 1]; k++) {
+                    int i = cellEntries[k];
+                    // an entity spanning several cells, or sharing a hashed slot, is seen more than once
+                    if (lastQuery[i] != queryCount) {
+                        lastQuery[i] = queryCount;
+                        addIfOverlap(i, minX, minY, maxX, maxY);
+                    }
+                }
+            }
+        }
+        return finishQuery(false);
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private int hash(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & tableMask;
+    }
+}
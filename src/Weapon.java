@@ -4,7 +4,6 @@
  */
 public  class Weapon extends GameEntity{
     private boolean isCollected = false; // record if it's picked up by mario
-    private double OUTOFSCREEN = -10000; // a random point out side of the screen
 
     /**
      * Constructs a Weapon at the specified position.
@@ -16,16 +15,24 @@ public  class Weapon extends GameEntity{
         super(imagePath, x, y);
     }
 
+    /**
+     * put the weapon back where it started, not collected
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        isCollected = false;
+    }
+
     /**
      * Draws the hammer on the screen if it has not been collected.
      */
     @Override
     public void draw() {
-        if (isCollected) {
-            x = OUTOFSCREEN;
+        if (!isCollected) {
             // Bagel centers images automatically
+            currentImage.draw(x, y);
         }
-        currentImage.draw(x, y);
     }
 
     /**
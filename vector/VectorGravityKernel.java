@@ -0,0 +1,33 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * integrates gravity with explicit SIMD lanes of the incubator Vector API,
+ * compiled and run only with the vector profile (--add-modules jdk.incubator.vector).
+ * Lanewise add and compare-select are the same IEEE operations as the scalar code.
+ */
+public class VectorGravityKernel implements GravityKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void integrate(double[] y, double[] velocityY, int count,
+                          double gravity, double terminalVelocity, boolean isClampedBeforeMove) {
+        int i = 0;
+        int upperBound = SPECIES.loopBound(count);
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector v = DoubleVector.fromArray(SPECIES, velocityY, i).add(gravity);
+            DoubleVector clamped = v.blend(terminalVelocity, v.compare(VectorOperators.GT, terminalVelocity));
+            DoubleVector position = DoubleVector.fromArray(SPECIES, y, i);
+            position.add(isClampedBeforeMove ? clamped : v).intoArray(y, i);
+            clamped.intoArray(velocityY, i);
+        }
+        // remaining bodies that do not fill a whole vector
+        for (; i < count; i++) {
+            double v = velocityY[i] + gravity;
+            double clamped = v > terminalVelocity ? terminalVelocity : v;
+            y[i] += isClampedBeforeMove ? clamped : v;
+            velocityY[i] = clamped;
+        }
+    }
+}